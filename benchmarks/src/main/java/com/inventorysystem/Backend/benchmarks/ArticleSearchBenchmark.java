@@ -0,0 +1,74 @@
+package com.inventorysystem.Backend.benchmarks;
+
+import com.inventorysystem.Backend.search.ArticleSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exact and typo-tolerant article search on the in-memory index, with names and brands generated the way
+ * {@link DataSeeder} does. The fuzzy search target is 20 ms at 500k articles:
+ * <pre>
+ *     java -jar target/benchmarks.jar ArticleSearchBenchmark
+ * </pre>
+ * The seeded vocabulary is small, so every misspelled term shares trigrams with tens of thousands of articles,
+ * but those articles share a few hundred distinct names. {@code distinctNames=true} gives every article its own
+ * name, so the index holds one value per article and the prefilter has to walk far longer posting lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ArticleSearchBenchmark {
+
+    @Param({"500000"})
+    private int articles;
+
+    // With distinct names every article carries its own reference code, so no name is shared
+    @Param({"false", "true"})
+    private boolean distinctNames;
+
+    // Misspelled product, brand, variant and two-word terms
+    @Param({"chocolte", "alpna", "detergnete", "mantequila premum", "la sabnaa"})
+    private String term;
+
+    private ArticleSearchIndex index;
+
+    @Setup
+    public void buildIndex() {
+        index = new ArticleSearchIndex();
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= articles; id++) {
+            String name = DataSeeder.PRODUCTS[random.nextInt(DataSeeder.PRODUCTS.length)] + " "
+                    + DataSeeder.VARIANTS[random.nextInt(DataSeeder.VARIANTS.length)] + " "
+                    + DataSeeder.SIZES[random.nextInt(DataSeeder.SIZES.length)]
+                    + (distinctNames ? " ref" + id : "");
+            String brand = DataSeeder.BRANDS[random.nextInt(DataSeeder.BRANDS.length)];
+            index.put(id, name, brand, 1 + id % 50);
+        }
+    }
+
+    @Benchmark
+    public List<Long> fuzzySearch() {
+        return index.fuzzySearch(term, null);
+    }
+
+    @Benchmark
+    public List<Long> fuzzySearchByProvider() {
+        return index.fuzzySearch(term, 7L);
+    }
+}
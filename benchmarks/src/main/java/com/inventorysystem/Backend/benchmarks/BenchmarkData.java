@@ -0,0 +1,94 @@
+package com.inventorysystem.Backend.benchmarks;
+
+import java.util.Map;
+
+/**
+ * Shape of a generated data set: how many rows of each kind, how skewed article and customer popularity are,
+ * and how the sale history spreads over time. Loaded by {@link DataSeeder}; the same settings and seed always
+ * produce the same rows.
+ */
+final class BenchmarkData {
+
+    int providers = 50;
+    int categories = 20;
+    int customers = 5_000;
+    int users = 10;
+    int articles = 10_000;
+    int lotsPerArticle = 5;
+    int stockPerLot = 200_000_000;
+    int sales = 20_000;
+    int purchases = 2_000;
+    int maxSaleLines = 5;
+
+    // Zipf exponents for which articles are sold and which customers buy; 0 is uniform
+    double articleSkew = 1.0;
+    double customerSkew = 0.6;
+
+    // History length, and how much busier the last day is than the first (0.3 = 30% more sales)
+    int historyDays = 365;
+    double growth = 0.3;
+
+    // Share of articles with an expiry date in the next expiryHorizonDays days
+    double expiringShare = 0.3;
+    int expiryHorizonDays = 180;
+
+    long seed = 42;
+    int batchSize = 1000;
+    int threads = Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    // Plenty of stock in the defaults, so benchmarks that sell in a loop do not run out
+    static BenchmarkData standard() {
+        return new BenchmarkData();
+    }
+
+    /**
+     * Applies {@code name=value} settings named after the fields, e.g. {@code articles=1000000}. Purchases
+     * default to a tenth of the sales unless given.
+     */
+    static BenchmarkData from(Map<String, String> settings) {
+        BenchmarkData data = new BenchmarkData();
+        boolean purchasesGiven = false;
+        for (Map.Entry<String, String> setting : settings.entrySet()) {
+            String value = setting.getValue();
+            switch (setting.getKey()) {
+                case "providers" -> data.providers = Integer.parseInt(value);
+                case "categories" -> data.categories = Integer.parseInt(value);
+                case "customers" -> data.customers = Integer.parseInt(value);
+                case "users" -> data.users = Integer.parseInt(value);
+                case "articles" -> data.articles = Integer.parseInt(value);
+                case "lotsPerArticle" -> data.lotsPerArticle = Integer.parseInt(value);
+                case "stockPerLot" -> data.stockPerLot = Integer.parseInt(value);
+                case "sales" -> data.sales = Integer.parseInt(value);
+                case "purchases" -> {
+                    data.purchases = Integer.parseInt(value);
+                    purchasesGiven = true;
+                }
+                case "maxSaleLines" -> data.maxSaleLines = Integer.parseInt(value);
+                case "articleSkew" -> data.articleSkew = Double.parseDouble(value);
+                case "customerSkew" -> data.customerSkew = Double.parseDouble(value);
+                case "historyDays" -> data.historyDays = Integer.parseInt(value);
+                case "growth" -> data.growth = Double.parseDouble(value);
+                case "expiringShare" -> data.expiringShare = Double.parseDouble(value);
+                case "expiryHorizonDays" -> data.expiryHorizonDays = Integer.parseInt(value);
+                case "seed" -> data.seed = Long.parseLong(value);
+                case "batchSize" -> data.batchSize = Integer.parseInt(value);
+                case "threads" -> data.threads = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown data setting: " + setting.getKey());
+            }
+        }
+        if (!purchasesGiven) {
+            data.purchases = Math.max(data.sales / 10, 1);
+        }
+        data.validate();
+        return data;
+    }
+
+    private void validate() {
+        if (providers < 1 || categories < 1 || customers < 1 || users < 1 || articles < providers) {
+            throw new IllegalArgumentException("Every table needs rows, and at least one article per provider");
+        }
+        if (maxSaleLines < 1 || maxSaleLines > articles || historyDays < 1 || batchSize < 1 || threads < 1) {
+            throw new IllegalArgumentException("Invalid data settings");
+        }
+    }
+}
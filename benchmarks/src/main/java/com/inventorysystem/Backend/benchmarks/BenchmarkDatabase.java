@@ -0,0 +1,59 @@
+package com.inventorysystem.Backend.benchmarks;
+
+import com.inventorysystem.Backend.BackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts the backend against a fresh in-memory H2 database in MySQL mode seeded by {@link DataSeeder}, for
+ * benchmarks and load tests that exercise services, repositories and controllers. Hibernate creates the tables from the entities; benchmark-schema.sql adds
+ * what the MySQL schema provides outside of them. The web configuration needs a servlet context, so the embedded
+ * server starts too, on a random port.
+ */
+final class BenchmarkDatabase {
+
+    private BenchmarkDatabase() {
+    }
+
+    static ConfigurableApplicationContext start(BenchmarkData data, String... extraProperties) {
+        String url = "jdbc:h2:mem:bench-" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1";
+
+        // A first run only creates the tables; the data is loaded before the backend that is measured starts,
+        // so its caches and search indexes are built from it as they would be in production
+        try (ConfigurableApplicationContext schemaContext = run(url, "create", extraProperties)) {
+            DataSource dataSource = schemaContext.getBean(DataSource.class);
+            new ResourceDatabasePopulator(new ClassPathResource("benchmark-schema.sql")).execute(dataSource);
+            new DataSeeder(data).seed(dataSource);
+        }
+        return run(url, "none", extraProperties);
+    }
+
+    private static ConfigurableApplicationContext run(String url, String ddlAuto, String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.datasource.url=" + url,
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                "spring.jpa.show-sql=false",
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector=" + MySqlDateRewriter.class.getName(),
+                "spring.main.banner-mode=off",
+                "server.port=0",
+                "logging.level.root=WARN"
+        ));
+        properties.addAll(List.of(extraProperties));
+
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .properties(properties.toArray(new String[0]))
+                .run();
+    }
+}
@@ -0,0 +1,392 @@
+package com.inventorysystem.Backend.benchmarks;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads a {@link BenchmarkData} set into the application's tables with batched JDBC inserts, in parallel.
+ * <p>
+ * Rows are generated while they are inserted, never held in memory, and the work is cut into fixed ranges of
+ * ids, each with its own random stream: the rows only depend on the settings, not on the number of threads.
+ * Sales pick their articles and customers from Zipf distributions (popular SKUs, regular customers), and their
+ * timestamps follow a store's opening hours and weekdays over the configured history, with the busiest days at
+ * the end. Ids are explicit and start at 1, so the target tables are expected to be empty.
+ */
+final class DataSeeder {
+
+    private static final int CHUNK_SIZE = 50_000;
+
+    static final String[] FIRST_NAMES = {"Laura", "Carlos", "Ana", "Juan", "María", "Andrés", "Camila",
+            "Diego", "Valentina", "Santiago", "Sofía", "Felipe", "Paula", "Jorge", "Daniela", "Luis", "Natalia",
+            "Miguel", "Carolina", "Sebastián"};
+    private static final String[] LAST_NAMES = {"Gómez", "Rodríguez", "Martínez", "López", "García", "Pérez",
+            "Hernández", "Ramírez", "Torres", "Díaz", "Moreno", "Vargas", "Rojas", "Castro", "Ortiz", "Suárez"};
+    static final String[] PRODUCTS = {"Arroz", "Aceite", "Leche", "Café", "Azúcar", "Pan", "Galletas",
+            "Jabón", "Detergente", "Atún", "Pasta", "Harina", "Chocolate", "Gaseosa", "Agua", "Jugo", "Cerveza",
+            "Queso", "Yogur", "Mantequilla", "Huevos", "Sal", "Panela", "Avena", "Cereal"};
+    static final String[] VARIANTS = {"Clásico", "Light", "Integral", "Premium", "Original", "Familiar",
+            "Natural", "Extra"};
+    static final String[] SIZES = {"250g", "500g", "1kg", "2kg", "330ml", "1L", "1.5L", "3L"};
+    static final String[] BRANDS = {"Diana", "Roa", "Alpina", "Colanta", "Nestlé", "Zenú", "Doria",
+            "Noel", "Postobón", "Bavaria", "Quala", "Nutresa", "Familia", "Fab", "Ramo", "Olímpica", "Éxito",
+            "Premier", "Frescampo", "La Sabana"};
+
+    // Relative sales per hour of the day and per weekday, Monday first
+    private static final double[] HOUR_WEIGHTS = {0, 0, 0, 0, 0, 0, 0.2, 0.6, 1.0, 1.2, 1.4, 1.8, 2.2, 1.6,
+            1.2, 1.1, 1.3, 1.8, 2.0, 1.5, 0.8, 0.3, 0, 0};
+    private static final double[] WEEKDAY_WEIGHTS = {0.9, 0.9, 0.95, 1.0, 1.2, 1.4, 0.7};
+
+    private final BenchmarkData data;
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+    private final Map<String, AtomicLong> rowsByTable = new LinkedHashMap<>();
+
+    private int[] articleByPopularity;
+    private int[] salePrices;
+    private Zipf articlePopularity;
+    private Zipf customerPopularity;
+    private HourSlots history;
+
+    DataSeeder(BenchmarkData data) {
+        this.data = data;
+        for (String table : List.of("provider", "category", "user", "customer", "article", "stock",
+                "sale", "sale_detail", "purchase", "purchase_detail")) {
+            rowsByTable.put(table, new AtomicLong());
+        }
+    }
+
+    /**
+     * Seeds the data set and returns the number of rows written per table.
+     */
+    Map<String, Long> seed(DataSource dataSource) {
+        prepare();
+
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(connection -> seedReferenceData(connection));
+        for (int from = 1; from <= data.customers; from += CHUNK_SIZE) {
+            int start = from;
+            tasks.add(connection -> seedCustomers(connection, start, Math.min(start + CHUNK_SIZE, data.customers + 1)));
+        }
+        for (int from = 1; from <= data.articles; from += CHUNK_SIZE) {
+            int start = from;
+            tasks.add(connection -> seedArticles(connection, start, Math.min(start + CHUNK_SIZE, data.articles + 1)));
+        }
+        for (int from = 1; from <= data.sales; from += CHUNK_SIZE) {
+            int start = from;
+            tasks.add(connection -> seedSales(connection, start, Math.min(start + CHUNK_SIZE, data.sales + 1)));
+        }
+        for (int from = 1; from <= data.purchases; from += CHUNK_SIZE) {
+            int start = from;
+            tasks.add(connection -> seedPurchases(connection, start, Math.min(start + CHUNK_SIZE, data.purchases + 1)));
+        }
+        run(dataSource, tasks);
+
+        try (Connection connection = dataSource.getConnection()) {
+            restartIdentities(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not move the identity columns past the seeded ids", e);
+        }
+
+        Map<String, Long> rows = new LinkedHashMap<>();
+        rowsByTable.forEach((table, count) -> rows.put(table, count.get()));
+        return rows;
+    }
+
+    // Shared, read-only lookups every task uses
+    private void prepare() {
+        articleByPopularity = articlesByPopularity(data);
+
+        salePrices = new int[data.articles + 1];
+        for (int articleId = 1; articleId <= data.articles; articleId++) {
+            salePrices[articleId] = purchasePrice(articleId) * 13 / 10;
+        }
+
+        articlePopularity = new Zipf(data.articles, data.articleSkew);
+        customerPopularity = new Zipf(data.customers, data.customerSkew);
+        history = new HourSlots(now, data.historyDays, data.growth);
+    }
+
+    /**
+     * Popularity rank to article id, shuffled so the best sellers are spread over ids, providers and categories.
+     */
+    static int[] articlesByPopularity(BenchmarkData data) {
+        SplittableRandom random = new SplittableRandom(data.seed);
+        int[] articleIds = new int[data.articles];
+        for (int i = 0; i < data.articles; i++) {
+            articleIds[i] = i + 1;
+        }
+        for (int i = data.articles - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swapped = articleIds[i];
+            articleIds[i] = articleIds[j];
+            articleIds[j] = swapped;
+        }
+        return articleIds;
+    }
+
+    private void seedReferenceData(Connection connection) throws SQLException {
+        Timestamp createdAt = Timestamp.valueOf(now.minusDays(data.historyDays));
+
+        try (BatchInserter providers = inserter(connection, "INSERT INTO provider (provider_id, name, phone_number, email, created_at) "
+                + "VALUES (?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= data.providers; id++) {
+                providers.add(id, "Distribuidora " + BRANDS[(int) (id % BRANDS.length)] + " " + id, "300" + id,
+                        "provider" + id + "@example.com", createdAt);
+            }
+            count("provider", providers);
+        }
+
+        try (BatchInserter categories = inserter(connection, "INSERT INTO category (category_id, name, created_at) VALUES (?, ?, ?)")) {
+            for (long id = 1; id <= data.categories; id++) {
+                categories.add(id, PRODUCTS[(int) ((id - 1) % PRODUCTS.length)] + (id > PRODUCTS.length ? " " + id : ""), createdAt);
+            }
+            count("category", categories);
+        }
+
+        try (BatchInserter users = inserter(connection, "INSERT INTO user (user_id, name, username, password_hash, phone_number, email, admin, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= data.users; id++) {
+                users.add(id, personName(id), "user" + id, "hash", "320" + id, "user" + id + "@example.com", id == 1, createdAt);
+            }
+            count("user", users);
+        }
+    }
+
+    private void seedCustomers(Connection connection, int from, int to) throws SQLException {
+        SplittableRandom random = chunkRandom(1, from);
+        try (BatchInserter customers = inserter(connection, "INSERT INTO customer (customer_id, name, phone_number, email, document, address, state, city, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long id = from; id < to; id++) {
+                customers.add(id, personName(id), "310" + id, "customer" + id + "@example.com", String.valueOf(10_000_000 + id),
+                        "Calle " + (1 + random.nextInt(200)) + " # " + (1 + random.nextInt(100)) + "-" + (1 + random.nextInt(99)),
+                        "Antioquia", "Medellín", Timestamp.valueOf(history.at(random.nextDouble(), random)));
+            }
+            count("customer", customers);
+        }
+    }
+
+    private void seedArticles(Connection connection, int from, int to) throws SQLException {
+        SplittableRandom random = chunkRandom(2, from);
+        Timestamp createdAt = Timestamp.valueOf(now.minusDays(data.historyDays));
+        LocalDate today = now.toLocalDate();
+
+        try (BatchInserter articles = inserter(connection, "INSERT INTO article (article_id, name, brand, stock, purchase_price, sale_price, weight, "
+                + "provider_id, category_id, expiry_date, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long id = from; id < to; id++) {
+                String size = SIZES[random.nextInt(SIZES.length)];
+                String name = PRODUCTS[random.nextInt(PRODUCTS.length)] + " " + VARIANTS[random.nextInt(VARIANTS.length)] + " " + size;
+                Date expiryDate = random.nextDouble() < data.expiringShare
+                        ? Date.valueOf(today.plusDays(1 + random.nextInt(data.expiryHorizonDays)))
+                        : null;
+                articles.add(id, name, BRANDS[random.nextInt(BRANDS.length)], data.lotsPerArticle * data.stockPerLot,
+                        purchasePrice(id), salePrices[(int) id], size, 1 + id % data.providers, 1 + id % data.categories,
+                        expiryDate, createdAt);
+            }
+            count("article", articles);
+        }
+
+        try (BatchInserter lots = inserter(connection, "INSERT INTO stock (id, article_id, entry_date, created_at, quantity, stock_quantity, batch_id, status, weight) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long articleId = from; articleId < to; articleId++) {
+                for (int lot = 0; lot < data.lotsPerArticle; lot++) {
+                    long lotId = (articleId - 1) * data.lotsPerArticle + lot + 1;
+                    long daysAgo = (long) (data.lotsPerArticle - lot) * data.historyDays / (data.lotsPerArticle + 1);
+                    Timestamp entryDate = Timestamp.valueOf(now.minusDays(daysAgo));
+                    lots.add(lotId, articleId, entryDate, entryDate, data.stockPerLot, data.stockPerLot,
+                            "B" + articleId + "-" + lot, "available", 0.0);
+                }
+            }
+            count("stock", lots);
+        }
+    }
+
+    private void seedSales(Connection connection, int from, int to) throws SQLException {
+        SplittableRandom random = chunkRandom(3, from);
+        long[] lineArticles = new long[data.maxSaleLines];
+
+        try (BatchInserter sales = inserter(connection, "INSERT INTO sale (sale_id, total_value, customer_id, user_id, created_at) VALUES (?, ?, ?, ?, ?)");
+             BatchInserter details = inserter(connection, "INSERT INTO sale_detail (sale_id, article_id, article_quantity, price) VALUES (?, ?, ?, ?)")) {
+            for (long saleId = from; saleId < to; saleId++) {
+                int lines = distinctArticles(random, lineArticles, 1 + random.nextInt(data.maxSaleLines));
+                long totalValue = 0;
+                for (int line = 0; line < lines; line++) {
+                    int quantity = 1 + random.nextInt(3);
+                    int price = salePrices[(int) lineArticles[line]] * quantity;
+                    details.add(saleId, lineArticles[line], quantity, price);
+                    totalValue += price;
+                }
+                // Stratified over the history, so sale ids grow with time like auto-increment ids do
+                LocalDateTime createdAt = history.at((saleId - 1 + random.nextDouble()) / data.sales, random);
+                sales.add(saleId, (int) Math.min(totalValue, Integer.MAX_VALUE), 1L + customerPopularity.sample(random),
+                        1L + random.nextInt(data.users), Timestamp.valueOf(createdAt));
+            }
+            count("sale", sales);
+            count("sale_detail", details);
+        }
+    }
+
+    private void seedPurchases(Connection connection, int from, int to) throws SQLException {
+        SplittableRandom random = chunkRandom(4, from);
+
+        try (BatchInserter purchases = inserter(connection, "INSERT INTO purchase (purchase_id, total_value, provider_id, user_id, created_at) VALUES (?, ?, ?, ?, ?)");
+             BatchInserter details = inserter(connection, "INSERT INTO purchase_detail (purchase_id, article_id, article_quantity, price) VALUES (?, ?, ?, ?)")) {
+            for (long purchaseId = from; purchaseId < to; purchaseId++) {
+                // Every line is an article of the same provider: ids providerId - 1 apart modulo the provider count
+                long firstArticle = 1 + random.nextInt(data.articles);
+                long providerId = 1 + firstArticle % data.providers;
+                int lines = 1 + random.nextInt(data.maxSaleLines);
+                long totalValue = 0;
+                for (long articleId = firstArticle; lines > 0 && articleId <= data.articles; articleId += data.providers, lines--) {
+                    int quantity = 10 + random.nextInt(100);
+                    int price = purchasePrice(articleId) * quantity;
+                    details.add(purchaseId, articleId, quantity, price);
+                    totalValue += price;
+                }
+                LocalDateTime createdAt = history.at((purchaseId - 1 + random.nextDouble()) / data.purchases, random);
+                purchases.add(purchaseId, (int) Math.min(totalValue, Integer.MAX_VALUE), providerId,
+                        1L + random.nextInt(data.users), Timestamp.valueOf(createdAt));
+            }
+            count("purchase", purchases);
+            count("purchase_detail", details);
+        }
+    }
+
+    // sale_detail is keyed by (sale_id, article_id), so the articles of one sale must differ
+    private int distinctArticles(SplittableRandom random, long[] lineArticles, int wanted) {
+        int lines = 0;
+        for (int attempt = 0; lines < wanted && attempt < wanted * 4; attempt++) {
+            long articleId = articleByPopularity[articlePopularity.sample(random)];
+            boolean repeated = false;
+            for (int line = 0; line < lines; line++) {
+                repeated |= lineArticles[line] == articleId;
+            }
+            if (!repeated) {
+                lineArticles[lines++] = articleId;
+            }
+        }
+        return lines;
+    }
+
+    private void restartIdentities(Connection connection) throws SQLException {
+        // MySQL moves AUTO_INCREMENT past explicit ids by itself, H2 identity columns have to be told
+        if (!connection.getMetaData().getDatabaseProductName().startsWith("H2")) {
+            return;
+        }
+        String[][] identities = {{"article", "article_id", String.valueOf(data.articles)},
+                {"stock", "id", String.valueOf((long) data.articles * data.lotsPerArticle)},
+                {"sale", "sale_id", String.valueOf(data.sales)},
+                {"purchase", "purchase_id", String.valueOf(data.purchases)},
+                {"provider", "provider_id", String.valueOf(data.providers)},
+                {"category", "category_id", String.valueOf(data.categories)},
+                {"user", "user_id", String.valueOf(data.users)}};
+        try (Statement statement = connection.createStatement()) {
+            for (String[] identity : identities) {
+                statement.execute("ALTER TABLE " + identity[0] + " ALTER COLUMN " + identity[1]
+                        + " RESTART WITH " + (Long.parseLong(identity[2]) + 1));
+            }
+        }
+    }
+
+    private void run(DataSource dataSource, List<Task> tasks) {
+        ExecutorService executor = Executors.newFixedThreadPool(data.threads);
+        try {
+            List<Future<?>> running = new ArrayList<>(tasks.size());
+            for (Task task : tasks) {
+                running.add(executor.submit(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        connection.setAutoCommit(false);
+                        task.run(connection);
+                        connection.commit();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> task : running) {
+                task.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seeding failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Seeding interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private BatchInserter inserter(Connection connection, String sql) throws SQLException {
+        return new BatchInserter(connection, sql, data.batchSize);
+    }
+
+    private void count(String table, BatchInserter inserter) {
+        rowsByTable.get(table).addAndGet(inserter.rows());
+    }
+
+    private SplittableRandom chunkRandom(int table, long firstId) {
+        return new SplittableRandom(data.seed * 31 + table * 1_000_003L + firstId);
+    }
+
+    private int purchasePrice(long articleId) {
+        // Deterministic per article, so every chunk agrees on it without sharing state
+        return 500 + (int) Math.floorMod(articleId * 2_654_435_761L + data.seed, 20_000L);
+    }
+
+    private static String personName(long id) {
+        return FIRST_NAMES[(int) (id % FIRST_NAMES.length)] + " "
+                + LAST_NAMES[(int) ((id / FIRST_NAMES.length) % LAST_NAMES.length)] + " "
+                + LAST_NAMES[(int) ((id * 7) % LAST_NAMES.length)];
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        void run(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Every hour of the history weighted by time of day, weekday and growth; maps a uniform value to a time.
+     */
+    private static final class HourSlots {
+
+        private final LocalDateTime start;
+        private final double[] cumulative;
+
+        private HourSlots(LocalDateTime now, int days, double growth) {
+            this.start = now.toLocalDate().minusDays(days).atStartOfDay();
+            this.cumulative = new double[days * 24];
+            double total = 0;
+            for (int slot = 0; slot < cumulative.length; slot++) {
+                LocalDateTime hour = start.plusHours(slot);
+                DayOfWeek weekday = hour.getDayOfWeek();
+                double trend = 1 + growth * slot / cumulative.length;
+                total += HOUR_WEIGHTS[hour.getHour()] * WEEKDAY_WEIGHTS[weekday.getValue() - 1] * trend;
+                cumulative[slot] = total;
+            }
+            for (int slot = 0; slot < cumulative.length; slot++) {
+                cumulative[slot] /= total;
+            }
+        }
+
+        LocalDateTime at(double position, SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, position);
+            int slot = Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+            return start.plusHours(slot).plusSeconds(random.nextInt(3600));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.inventorysystem.Backend.benchmarks;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * H2 stand-ins for the MySQL stored procedures the repositories call by id, registered with CREATE ALIAS
+ * in benchmark-schema.sql. Each one returns the row the MySQL procedure selects.
+ */
+public final class H2Procedures {
+
+    private H2Procedures() {
+    }
+
+    public static ResultSet getArticleById(Connection connection, Long articleId) throws SQLException {
+        return selectById(connection, "SELECT * FROM article WHERE article_id = ?", articleId);
+    }
+
+    public static ResultSet getCustomerById(Connection connection, Long customerId) throws SQLException {
+        return selectById(connection, "SELECT * FROM customer WHERE customer_id = ?", customerId);
+    }
+
+    public static ResultSet getUserById(Connection connection, Long userId) throws SQLException {
+        return selectById(connection, "SELECT * FROM user WHERE user_id = ?", userId);
+    }
+
+    public static ResultSet getProviderById(Connection connection, Long providerId) throws SQLException {
+        return selectById(connection, "SELECT * FROM provider WHERE provider_id = ?", providerId);
+    }
+
+    public static ResultSet getCategoryById(Connection connection, Long categoryId) throws SQLException {
+        return selectById(connection, "SELECT * FROM category WHERE category_id = ?", categoryId);
+    }
+
+    private static ResultSet selectById(Connection connection, String sql, Long id) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        statement.setObject(1, id);
+        return statement.executeQuery();
+    }
+}
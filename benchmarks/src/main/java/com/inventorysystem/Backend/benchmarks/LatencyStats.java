@@ -0,0 +1,51 @@
+package com.inventorysystem.Backend.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and failures of one operation. Responses are recorded from any thread into an HDR recorder; the
+ * reporting thread takes interval snapshots and, once warm-up is over, adds them to the run total.
+ */
+final class LatencyStats {
+
+    private static final long HIGHEST_LATENCY = TimeUnit.MINUTES.toNanos(5);
+
+    private final Recorder recorder = new Recorder(HIGHEST_LATENCY, 3);
+    private final Histogram total = new Histogram(HIGHEST_LATENCY, 3);
+    private final LongAdder errors = new LongAdder();
+    private Histogram interval;
+    private long measuredErrors;
+
+    void recordSuccess(long latencyNanos) {
+        recorder.recordValue(Math.min(latencyNanos, HIGHEST_LATENCY));
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * Closes the current interval, counting it in the total when {@code measured}, and returns it.
+     */
+    Histogram nextInterval(boolean measured) {
+        interval = recorder.getIntervalHistogram(interval);
+        long intervalErrors = errors.sumThenReset();
+        if (measured) {
+            total.add(interval);
+            measuredErrors += intervalErrors;
+        }
+        return interval;
+    }
+
+    Histogram total() {
+        return total;
+    }
+
+    long measuredErrors() {
+        return measuredErrors;
+    }
+}
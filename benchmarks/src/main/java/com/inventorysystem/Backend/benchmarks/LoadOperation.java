@@ -0,0 +1,127 @@
+package com.inventorysystem.Backend.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventorysystem.Backend.dto.sale.SaleCreationArticleDTO;
+import com.inventorysystem.Backend.dto.sale.SaleCreationDTO;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The point-of-sale requests the load test sends, each built from the shape of the seeded data set: sales sell
+ * popular articles to regular customers, searches use the product and brand words of the article names.
+ */
+enum LoadOperation {
+
+    CREATE_SALE("POST /sale") {
+        @Override
+        HttpRequest request(Target target, SplittableRandom random) {
+            BenchmarkData data = target.data;
+            int lines = 1 + random.nextInt(data.maxSaleLines);
+            List<SaleCreationArticleDTO> articles = new ArrayList<>(lines);
+            for (int line = 0; line < lines; line++) {
+                long articleId = target.articleByPopularity[target.articlePopularity.sample(random)];
+                if (articles.stream().noneMatch(article -> article.getArticleId() == articleId)) {
+                    articles.add(new SaleCreationArticleDTO(articleId, 1 + random.nextInt(3)));
+                }
+            }
+            SaleCreationDTO sale = new SaleCreationDTO(1L + target.customerPopularity.sample(random), articles,
+                    1L + random.nextInt(data.users));
+            return target.post("/sale", sale);
+        }
+    },
+
+    LIST_SALES("GET /sale") {
+        @Override
+        HttpRequest request(Target target, SplittableRandom random) {
+            // Mostly the first pages of the unfiltered list, sometimes a customer name search
+            if (random.nextInt(4) == 0) {
+                return target.get("/sale?pageSize=20&page=1&searchCriteria="
+                        + encode(DataSeeder.FIRST_NAMES[random.nextInt(DataSeeder.FIRST_NAMES.length)]));
+            }
+            return target.get("/sale?pageSize=20&page=" + (1 + random.nextInt(3)));
+        }
+    },
+
+    SEARCH_ARTICLES("GET /article") {
+        @Override
+        HttpRequest request(Target target, SplittableRandom random) {
+            String term = random.nextBoolean()
+                    ? DataSeeder.PRODUCTS[random.nextInt(DataSeeder.PRODUCTS.length)]
+                    : DataSeeder.BRANDS[random.nextInt(DataSeeder.BRANDS.length)];
+            return target.get("/article?page=1&pageSize=20&searchCriteria=" + encode(term));
+        }
+    },
+
+    DATA_SUMMARY("GET /data/summary") {
+        @Override
+        HttpRequest request(Target target, SplittableRandom random) {
+            return target.get("/data/summary");
+        }
+    },
+
+    UNREAD_NOTIFICATIONS("GET /notifications/unread") {
+        @Override
+        HttpRequest request(Target target, SplittableRandom random) {
+            return target.get("/notifications/unread");
+        }
+    };
+
+    final String label;
+
+    LoadOperation(String label) {
+        this.label = label;
+    }
+
+    abstract HttpRequest request(Target target, SplittableRandom random);
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The backend under test and the data set it was seeded with.
+     */
+    static final class Target {
+
+        private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+        private final URI baseUri;
+        private final BenchmarkData data;
+        private final int[] articleByPopularity;
+        private final Zipf articlePopularity;
+        private final Zipf customerPopularity;
+        private final ObjectMapper objectMapper = new ObjectMapper();
+
+        Target(URI baseUri, BenchmarkData data) {
+            this.baseUri = baseUri;
+            this.data = data;
+            this.articleByPopularity = DataSeeder.articlesByPopularity(data);
+            this.articlePopularity = new Zipf(data.articles, data.articleSkew);
+            this.customerPopularity = new Zipf(data.customers, data.customerSkew);
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(TIMEOUT).GET().build();
+        }
+
+        private HttpRequest post(String path, Object body) {
+            try {
+                return HttpRequest.newBuilder(baseUri.resolve(path))
+                        .timeout(TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                        .build();
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Could not serialize the request body", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.inventorysystem.Backend.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load test of the REST API with a point-of-sale traffic mix:
+ * <pre>
+ *     java -cp target/benchmarks.jar com.inventorysystem.Backend.benchmarks.LoadTest \
+ *         --rate=200 --duration=60 --warmup=15 \
+ *         --mix=createSale:20,listSales:15,searchArticles:40,dataSummary:5,unreadNotifications:20
+ * </pre>
+ * Requests arrive as a Poisson process at {@code rate} per second whatever the response times, and each latency
+ * is measured from the moment its request was due, so a backend that falls behind shows it in the percentiles
+ * instead of slowing the arrivals down. Without {@code --baseUrl} the backend is started in-process on an
+ * embedded database seeded by {@link DataSeeder}; any {@code --name=value} not listed below is a
+ * {@link BenchmarkData} setting. {@code --baseUrl} targets a running instance instead, whose data must have been
+ * seeded with the same settings.
+ * <p>
+ * Other options: {@code --maxInFlight} (arrivals beyond it are counted as dropped), {@code --reportInterval}
+ * seconds between progress lines, and {@code --reportDir} to write the report and one HDR percentile
+ * distribution per operation ({@code .hgrm}, in milliseconds) to a directory.
+ */
+public final class LoadTest {
+
+    private static final String DEFAULT_MIX = "createSale:20,listSales:15,searchArticles:40,dataSummary:5,unreadNotifications:20";
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final LoadOperation.Target target;
+    private final HttpClient client;
+    private final LoadOperation[] operations;
+    private final double[] cumulativeWeights;
+    private final Map<LoadOperation, LatencyStats> stats = new EnumMap<>(LoadOperation.class);
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final long seed;
+    private final LongAdder dropped = new LongAdder();
+
+    private LoadTest(LoadOperation.Target target, HttpClient client, Map<LoadOperation, Double> mix, int maxInFlight, long seed) {
+        this.target = target;
+        this.client = client;
+        this.operations = mix.keySet().toArray(new LoadOperation[0]);
+        this.cumulativeWeights = new double[operations.length];
+        double total = mix.values().stream().mapToDouble(Double::doubleValue).sum();
+        double cumulative = 0;
+        for (int i = 0; i < operations.length; i++) {
+            cumulative += mix.get(operations[i]) / total;
+            cumulativeWeights[i] = cumulative;
+            stats.put(operations[i], new LatencyStats());
+        }
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> settings = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            settings.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        double rate = Double.parseDouble(remove(settings, "rate", "100"));
+        int durationSeconds = Integer.parseInt(remove(settings, "duration", "60"));
+        int warmupSeconds = Integer.parseInt(remove(settings, "warmup", "15"));
+        int maxInFlight = Integer.parseInt(remove(settings, "maxInFlight", "1000"));
+        int reportIntervalSeconds = Integer.parseInt(remove(settings, "reportInterval", "5"));
+        Map<LoadOperation, Double> mix = parseMix(remove(settings, "mix", DEFAULT_MIX));
+        String reportDir = settings.remove("reportDir");
+        String baseUrl = settings.remove("baseUrl");
+        BenchmarkData data = BenchmarkData.from(settings);
+
+        ConfigurableApplicationContext backend = null;
+        if (baseUrl == null) {
+            System.out.printf("Starting the backend with %,d articles, %,d customers and %,d sales...%n",
+                    data.articles, data.customers, data.sales);
+            backend = BenchmarkDatabase.start(data);
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) backend).getWebServer().getPort();
+        }
+
+        ExecutorService responseExecutor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(responseExecutor)
+                    .build();
+            LoadTest loadTest = new LoadTest(new LoadOperation.Target(URI.create(baseUrl + "/"), data), client, mix, maxInFlight, data.seed);
+            loadTest.run(rate, warmupSeconds, durationSeconds, reportIntervalSeconds);
+
+            loadTest.report(System.out, rate, durationSeconds);
+            if (reportDir != null) {
+                loadTest.writeReport(Path.of(reportDir), rate, durationSeconds);
+            }
+        } finally {
+            responseExecutor.shutdownNow();
+            if (backend != null) {
+                backend.close();
+            }
+        }
+    }
+
+    private void run(double rate, int warmupSeconds, int durationSeconds, int reportIntervalSeconds) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(seed);
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        long reportInterval = TimeUnit.SECONDS.toNanos(reportIntervalSeconds);
+        long nextReport = start + reportInterval;
+        double meanGap = TimeUnit.SECONDS.toNanos(1) / rate;
+
+        long due = start;
+        while (due < end) {
+            long now = System.nanoTime();
+            while (now >= nextReport) {
+                printProgress(nextReport - start, nextReport > measureFrom);
+                nextReport += reportInterval;
+            }
+            if (now < due) {
+                LockSupport.parkNanos(Math.min(due, nextReport) - now);
+                continue;
+            }
+            send(pick(random), random, due);
+            // Exponential gaps make the arrivals a Poisson process
+            due += (long) (-Math.log(1 - random.nextDouble()) * meanGap);
+        }
+
+        // Let the requests still in flight finish before the last interval is taken
+        if (!inFlight.tryAcquire(maxInFlight, 1, TimeUnit.MINUTES)) {
+            System.out.println("Requests still in flight after a minute are left out of the report");
+        }
+        printProgress(System.nanoTime() - start, true);
+    }
+
+    private void send(LoadOperation operation, SplittableRandom random, long due) {
+        if (!inFlight.tryAcquire()) {
+            dropped.increment();
+            return;
+        }
+        LatencyStats operationStats = stats.get(operation);
+        HttpRequest request = operation.request(target, random);
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            long latency = System.nanoTime() - due;
+            if (failure == null && response.statusCode() < 400) {
+                operationStats.recordSuccess(latency);
+            } else {
+                operationStats.recordError();
+            }
+            inFlight.release();
+        });
+    }
+
+    private LoadOperation pick(SplittableRandom random) {
+        double value = random.nextDouble();
+        for (int i = 0; i < cumulativeWeights.length - 1; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void printProgress(long elapsedNanos, boolean measured) {
+        StringBuilder line = new StringBuilder(String.format("%6.0fs %s", elapsedNanos / 1e9, measured ? "   " : "(w)"));
+        for (LoadOperation operation : operations) {
+            Histogram interval = stats.get(operation).nextInterval(measured);
+            line.append(String.format("  %s %d req p99=%.1fms", operation.label, interval.getTotalCount(),
+                    interval.getValueAtPercentile(99) / NANOS_PER_MILLI));
+        }
+        System.out.println(line);
+    }
+
+    private void report(PrintStream out, double rate, int durationSeconds) {
+        out.printf("%nOpen model, %.0f requests/s offered for %d s; %,d arrivals dropped at the in-flight limit%n",
+                rate, durationSeconds, dropped.sum());
+        out.printf("%-26s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (LoadOperation operation : operations) {
+            LatencyStats operationStats = stats.get(operation);
+            Histogram total = operationStats.total();
+            out.printf("%-26s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.label, total.getTotalCount(), operationStats.measuredErrors(),
+                    (double) total.getTotalCount() / durationSeconds,
+                    total.getValueAtPercentile(50) / NANOS_PER_MILLI, total.getValueAtPercentile(90) / NANOS_PER_MILLI,
+                    total.getValueAtPercentile(99) / NANOS_PER_MILLI, total.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                    total.getMaxValue() / NANOS_PER_MILLI);
+        }
+    }
+
+    private void writeReport(Path directory, double rate, int durationSeconds) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream out = new PrintStream(new FileOutputStream(directory.resolve("report.txt").toFile()))) {
+            report(out, rate, durationSeconds);
+        }
+        for (LoadOperation operation : operations) {
+            Path histogramFile = directory.resolve(operation.name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(new FileOutputStream(histogramFile.toFile()))) {
+                stats.get(operation).total().outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+        System.out.println("Report written to " + directory.toAbsolutePath());
+    }
+
+    private static Map<LoadOperation, Double> parseMix(String mix) {
+        Map<String, LoadOperation> byName = Map.of(
+                "createSale", LoadOperation.CREATE_SALE,
+                "listSales", LoadOperation.LIST_SALES,
+                "searchArticles", LoadOperation.SEARCH_ARTICLES,
+                "dataSummary", LoadOperation.DATA_SUMMARY,
+                "unreadNotifications", LoadOperation.UNREAD_NOTIFICATIONS);
+        Map<LoadOperation, Double> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            LoadOperation operation = byName.get(parts[0]);
+            if (operation == null || parts.length != 2) {
+                throw new IllegalArgumentException("Unknown mix entry " + entry + ", expected one of " + byName.keySet());
+            }
+            double weight = Double.parseDouble(parts[1]);
+            if (weight > 0) {
+                weights.put(operation, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The traffic mix needs at least one operation with a positive weight");
+        }
+        return weights;
+    }
+
+    private static String remove(Map<String, String> settings, String name, String defaultValue) {
+        String value = settings.remove(name);
+        return value != null ? value : defaultValue;
+    }
+}
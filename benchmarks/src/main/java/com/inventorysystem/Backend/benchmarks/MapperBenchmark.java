@@ -0,0 +1,202 @@
+package com.inventorysystem.Backend.benchmarks;
+
+import com.inventorysystem.Backend.dto.article.ArticleDTO;
+import com.inventorysystem.Backend.dto.category.CategoryDTO;
+import com.inventorysystem.Backend.dto.customer.CustomerDTO;
+import com.inventorysystem.Backend.dto.provider.ProviderDTO;
+import com.inventorysystem.Backend.dto.sale.SaleArticleDTO;
+import com.inventorysystem.Backend.dto.sale.SaleDTO;
+import com.inventorysystem.Backend.dto.sale.SaleDetailDTO;
+import com.inventorysystem.Backend.dto.user.UserDTO;
+import com.inventorysystem.Backend.mapper.ArticleMapper;
+import com.inventorysystem.Backend.mapper.CategoryMapper;
+import com.inventorysystem.Backend.mapper.CustomerMapper;
+import com.inventorysystem.Backend.mapper.ProviderMapper;
+import com.inventorysystem.Backend.mapper.SaleMapper;
+import com.inventorysystem.Backend.mapper.UserMapper;
+import com.inventorysystem.Backend.model.Article;
+import com.inventorysystem.Backend.model.Category;
+import com.inventorysystem.Backend.model.Customer;
+import com.inventorysystem.Backend.model.Provider;
+import com.inventorysystem.Backend.model.Sale;
+import com.inventorysystem.Backend.model.SaleDetail;
+import com.inventorysystem.Backend.model.User;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity-to-DTO mapping cost, hand-written mappers against the reflective ModelMapper they replaced.
+ * The {@code modelMapper*} methods reproduce the previous mapper code. Run with {@code -prof gc} to get
+ * allocation per operation next to the time:
+ * <pre>
+ *     java -jar target/benchmarks.jar MapperBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"20"})
+    private int saleLines;
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private ArticleMapper articleMapper;
+    private SaleMapper saleMapper;
+    private CustomerMapper customerMapper;
+
+    private Article article;
+    private Provider provider;
+    private Category category;
+    private Customer customer;
+    private User user;
+    private Sale sale;
+    private List<Object[]> saleLineRows;
+
+    @Setup
+    public void setUp() {
+        ProviderMapper providerMapper = new ProviderMapper();
+        CategoryMapper categoryMapper = new CategoryMapper();
+        customerMapper = new CustomerMapper();
+
+        articleMapper = new ArticleMapper();
+        BenchmarkSupport.inject(articleMapper, "providerMapper", providerMapper);
+        BenchmarkSupport.inject(articleMapper, "categoryMapper", categoryMapper);
+
+        saleMapper = new SaleMapper();
+        BenchmarkSupport.inject(saleMapper, "customerMapper", customerMapper);
+        BenchmarkSupport.inject(saleMapper, "userMapper", new UserMapper());
+        BenchmarkSupport.inject(saleMapper, "articleMapper", articleMapper);
+
+        provider = new Provider();
+        provider.setProviderId(7L);
+        provider.setName("Distribuidora Andina");
+        provider.setPhoneNumber("3001234567");
+        provider.setEmail("ventas@andina.example");
+
+        category = new Category();
+        category.setCategoryId(3L);
+        category.setName("Bebidas");
+
+        article = new Article(1001L);
+        article.setName("Coca Cola 1.5L");
+        article.setBrand("Coca Cola");
+        article.setStock(120);
+        article.setPurchasePrice(3200);
+        article.setSalePrice(4500);
+        article.setWeight("1.5L");
+        article.setProviderId(provider.getProviderId());
+        article.setCategoryId(category.getCategoryId());
+
+        customer = new Customer();
+        customer.setCustomerId(55L);
+        customer.setName("Laura Gómez");
+        customer.setPhoneNumber("3109876543");
+        customer.setEmail("laura@example.com");
+        customer.setDocument("1020304050");
+        customer.setAddress("Calle 10 # 5-20");
+        customer.setState("Antioquia");
+        customer.setCity("Medellín");
+
+        user = new User();
+        user.setUserId(2L);
+        user.setName("Cajero Uno");
+        user.setUsername("cajero1");
+        user.setPhoneNumber("3000000000");
+        user.setEmail("cajero1@example.com");
+        user.setAdmin(false);
+
+        sale = new Sale();
+        sale.setSaleId(90001L);
+        sale.setTotalValue(4500 * saleLines);
+        sale.setCreatedAt(LocalDateTime.of(2024, 5, 17, 10, 30, 15));
+        sale.setCustomerId(customer.getCustomerId());
+        sale.setUserId(user.getUserId());
+
+        saleLineRows = new ArrayList<>(saleLines);
+        for (int i = 0; i < saleLines; i++) {
+            SaleDetail line = new SaleDetail(sale.getSaleId(), article.getArticleId(), 1 + i % 3, 4500 * (1 + i % 3));
+            saleLineRows.add(new Object[]{line, article, provider, category});
+        }
+    }
+
+    @Benchmark
+    public ArticleDTO handWrittenArticleToDTO() {
+        return articleMapper.articleToDTO(article, provider, category);
+    }
+
+    @Benchmark
+    public ArticleDTO modelMapperArticleToDTO() {
+        return modelMapperArticle(article, provider, category);
+    }
+
+    @Benchmark
+    public CustomerDTO handWrittenCustomerToDTO() {
+        return customerMapper.customerToDTO(customer);
+    }
+
+    @Benchmark
+    public CustomerDTO modelMapperCustomerToDTO() {
+        return modelMapper.map(customer, CustomerDTO.class);
+    }
+
+    @Benchmark
+    public SaleDTO handWrittenSaleToDTO() {
+        return saleMapper.saleToDTO(sale, customer, user);
+    }
+
+    @Benchmark
+    public SaleDTO modelMapperSaleToDTO() {
+        SaleDTO convertedSale = modelMapper.map(sale, SaleDTO.class);
+        convertedSale.setCustomer(modelMapper.map(customer, CustomerDTO.class));
+        convertedSale.setUser(modelMapper.map(user, UserDTO.class));
+        return convertedSale;
+    }
+
+    @Benchmark
+    public SaleDetailDTO handWrittenSaleDetailToDTO() {
+        return saleMapper.saleDetailToDTO(sale, customer, user, saleLineRows);
+    }
+
+    @Benchmark
+    public SaleDetailDTO modelMapperSaleDetailToDTO() {
+        SaleDetailDTO convertedSaleDetail = modelMapper.map(sale, SaleDetailDTO.class);
+        convertedSaleDetail.setCustomer(modelMapper.map(customer, CustomerDTO.class));
+        convertedSaleDetail.setUser(modelMapper.map(user, UserDTO.class));
+        convertedSaleDetail.setSaleArticles(saleLineRows.stream()
+                .map(line -> {
+                    SaleArticleDTO convertedLine = modelMapper.map(line[0], SaleArticleDTO.class);
+                    convertedLine.setArticle(modelMapperArticle((Article) line[1], (Provider) line[2], (Category) line[3]));
+                    return convertedLine;
+                })
+                .collect(Collectors.toList()));
+        return convertedSaleDetail;
+    }
+
+    private ArticleDTO modelMapperArticle(Article article, Provider provider, Category category) {
+        ArticleDTO convertedArticle = modelMapper.map(article, ArticleDTO.class);
+        convertedArticle.setProvider(modelMapper.map(provider, ProviderDTO.class));
+        convertedArticle.setCategory(modelMapper.map(category, CategoryDTO.class));
+        return convertedArticle;
+    }
+}
@@ -0,0 +1,26 @@
+package com.inventorysystem.Backend.benchmarks;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites the MySQL {@code DATE_SUB(CURDATE(), INTERVAL n UNIT)} of the summary queries into H2's
+ * {@code DATEADD}, which H2's MySQL mode does not parse. Registered as Hibernate's statement inspector by
+ * {@link BenchmarkDatabase}.
+ */
+public class MySqlDateRewriter implements StatementInspector {
+
+    private static final Pattern DATE_SUB = Pattern.compile(
+            "DATE_SUB\\(CURDATE\\(\\), INTERVAL (\\d+) (DAY|WEEK|MONTH|YEAR)\\)", Pattern.CASE_INSENSITIVE);
+
+    @Override
+    public String inspect(String sql) {
+        if (sql.indexOf("DATE_SUB") < 0) {
+            return sql;
+        }
+        Matcher matcher = DATE_SUB.matcher(sql);
+        return matcher.replaceAll("DATEADD($2, -$1, CURDATE())");
+    }
+}
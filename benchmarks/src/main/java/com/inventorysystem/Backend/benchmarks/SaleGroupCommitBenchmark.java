@@ -0,0 +1,104 @@
+package com.inventorysystem.Backend.benchmarks;
+
+import com.inventorysystem.Backend.dto.sale.SaleAcceptedDTO;
+import com.inventorysystem.Backend.dto.sale.SaleDetailDTO;
+import com.inventorysystem.Backend.service.SaleGroupCommitService;
+import com.inventorysystem.Backend.service.SaleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Sale writes committed one request at a time against the group-commit pipeline, both with 16 concurrent clients:
+ * <pre>
+ *     java -jar target/benchmarks.jar SaleGroupCommitBenchmark
+ * </pre>
+ * Throughput mode gives sales per millisecond and SampleTime gives the latency percentiles (p0.99 is the p99).
+ * {@code groupCommit} measures the time until the sale is acknowledged, i.e. durable in the write-ahead log; the
+ * database writes happen behind it, so every iteration waits for the applier to catch up and prints how long
+ * that took.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class SaleGroupCommitBenchmark {
+
+    private final BenchmarkData data = BenchmarkData.standard();
+    private final AtomicLong lastSequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private SaleService saleService;
+    private SaleGroupCommitService saleGroupCommitService;
+    private Path walDirectory;
+
+    @Setup(Level.Trial)
+    public void startBackend() throws IOException {
+        walDirectory = Files.createTempDirectory("sale-wal");
+        context = BenchmarkDatabase.start(data,
+                "sale.group-commit.enabled=true",
+                "sale.group-commit.wal-dir=" + walDirectory);
+        saleService = context.getBean(SaleService.class);
+        saleGroupCommitService = context.getBean(SaleGroupCommitService.class);
+    }
+
+    // Acknowledged sales that are not in the database yet would count towards the next iteration
+    @TearDown(Level.Iteration)
+    public void drainQueuedSales() throws InterruptedException {
+        long sequence = lastSequence.get();
+        if (sequence == 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        while ("QUEUED".equals(saleGroupCommitService.getQueuedSale(sequence).getStatus())) {
+            Thread.sleep(5);
+        }
+        System.out.printf("Applied queued sales up to %d in %d ms after the iteration%n",
+                sequence, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopBackend() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(walDirectory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public SaleDetailDTO perRequestCommit(ServiceBenchmark.Baskets baskets) {
+        return saleService.createSale(baskets.nextSale(data));
+    }
+
+    @Benchmark
+    public SaleAcceptedDTO groupCommit(ServiceBenchmark.Baskets baskets) {
+        SaleAcceptedDTO accepted = saleGroupCommitService.enqueueSale(baskets.nextSale(data));
+        lastSequence.accumulateAndGet(accepted.getSequence(), Math::max);
+        return accepted;
+    }
+}
@@ -0,0 +1,58 @@
+package com.inventorysystem.Backend.benchmarks;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line entry point of {@link DataSeeder}, for loading a generated data set into a real database whose
+ * tables the application has already created (start it once with {@code ddl-auto=update}):
+ * <pre>
+ *     java -cp target/benchmarks.jar com.inventorysystem.Backend.benchmarks.SeedDatabase \
+ *         --url='jdbc:mysql://localhost:3306/inventory_system?rewriteBatchedStatements=true' \
+ *         --username=root --password=... --articles=1000000 --customers=500000 --sales=5000000
+ * </pre>
+ * Any other {@code --name=value} sets the {@link BenchmarkData} field of that name.
+ */
+public final class SeedDatabase {
+
+    private SeedDatabase() {
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> settings = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            settings.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        String url = settings.remove("url");
+        if (url == null) {
+            throw new IllegalArgumentException("--url is required");
+        }
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(settings.remove("username"));
+        config.setPassword(settings.remove("password"));
+        BenchmarkData data = BenchmarkData.from(settings);
+        config.setMaximumPoolSize(data.threads);
+
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            long started = System.nanoTime();
+            Map<String, Long> rows = new DataSeeder(data).seed(dataSource);
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            long total = 0;
+            for (Map.Entry<String, Long> table : rows.entrySet()) {
+                System.out.printf("%-16s %,14d rows%n", table.getKey(), table.getValue());
+                total += table.getValue();
+            }
+            System.out.printf("%-16s %,14d rows in %.1f s (%,.0f rows/s)%n", "total", total, seconds, total / seconds);
+        }
+    }
+}
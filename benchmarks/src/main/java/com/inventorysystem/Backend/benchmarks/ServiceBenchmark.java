@@ -0,0 +1,214 @@
+package com.inventorysystem.Backend.benchmarks;
+
+import com.inventorysystem.Backend.dto.article.ArticleDTO;
+import com.inventorysystem.Backend.dto.data.DataSummaryDTO;
+import com.inventorysystem.Backend.dto.purchase.PurchaseCreationArticleDTO;
+import com.inventorysystem.Backend.dto.purchase.PurchaseCreationDTO;
+import com.inventorysystem.Backend.dto.purchase.PurchaseDetailDTO;
+import com.inventorysystem.Backend.dto.sale.SaleCreationArticleDTO;
+import com.inventorysystem.Backend.dto.sale.SaleCreationDTO;
+import com.inventorysystem.Backend.dto.sale.SaleDetailDTO;
+import com.inventorysystem.Backend.dto.sale.SalesPageDTO;
+import com.inventorysystem.Backend.mapper.ArticleMapper;
+import com.inventorysystem.Backend.mapper.SaleMapper;
+import com.inventorysystem.Backend.model.Article;
+import com.inventorysystem.Backend.model.Customer;
+import com.inventorysystem.Backend.model.Sale;
+import com.inventorysystem.Backend.model.User;
+import com.inventorysystem.Backend.repository.ArticleRepository;
+import com.inventorysystem.Backend.repository.SaleDetailRepository;
+import com.inventorysystem.Backend.repository.SaleRepository;
+import com.inventorysystem.Backend.service.DataService;
+import com.inventorysystem.Backend.service.PurchaseService;
+import com.inventorysystem.Backend.service.SaleService;
+import com.inventorysystem.Backend.service.StockService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service and mapper hot paths against the seeded embedded database (see {@link BenchmarkDatabase}):
+ * <pre>
+ *     java -jar target/benchmarks.jar ServiceBenchmark
+ * </pre>
+ * {@code createSaleHotSku} runs 64 threads selling the same article, the contention case the guarded
+ * stock decrement was written for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final long HOT_ARTICLE_ID = 1L;
+    private static final int SAMPLE_SIZE = 1000;
+
+    private final BenchmarkData data = BenchmarkData.standard();
+
+    private ConfigurableApplicationContext context;
+    private SaleService saleService;
+    private PurchaseService purchaseService;
+    private StockService stockService;
+    private DataService dataService;
+    private ArticleMapper articleMapper;
+    private SaleMapper saleMapper;
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Article> sampleArticles;
+    private List<Long> sampleSaleIds;
+    private List<Object[]> sampleSaleRows;
+    private List<List<Object[]>> sampleSaleLines;
+
+    @Setup(Level.Trial)
+    public void startBackend() {
+        context = BenchmarkDatabase.start(data);
+        saleService = context.getBean(SaleService.class);
+        purchaseService = context.getBean(PurchaseService.class);
+        stockService = context.getBean(StockService.class);
+        dataService = context.getBean(DataService.class);
+        articleMapper = context.getBean(ArticleMapper.class);
+        saleMapper = context.getBean(SaleMapper.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        ArticleRepository articleRepository = context.getBean(ArticleRepository.class);
+        SaleRepository saleRepository = context.getBean(SaleRepository.class);
+        SaleDetailRepository saleDetailRepository = context.getBean(SaleDetailRepository.class);
+
+        SplittableRandom random = new SplittableRandom(7);
+        List<Long> articleIds = new ArrayList<>(SAMPLE_SIZE);
+        sampleSaleIds = new ArrayList<>(SAMPLE_SIZE);
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            articleIds.add(1L + random.nextInt(data.articles));
+            sampleSaleIds.add(1L + random.nextInt(data.sales));
+        }
+        sampleArticles = articleRepository.findAllById(articleIds);
+
+        // The rows getSaleById reads, so saleDetailToDTO can be measured without the queries
+        sampleSaleRows = new ArrayList<>(SAMPLE_SIZE);
+        sampleSaleLines = new ArrayList<>(SAMPLE_SIZE);
+        for (Long saleId : sampleSaleIds) {
+            sampleSaleRows.add(saleRepository.findSaleWithCustomerAndUser(saleId).get(0));
+            sampleSaleLines.add(saleDetailRepository.findSaleLinesWithArticles(saleId));
+        }
+    }
+
+    // FIFO selling drains the oldest lots, so every iteration starts again from full lots
+    @Setup(Level.Iteration)
+    public void refillStockLots() {
+        jdbcTemplate.update("UPDATE stock SET stock_quantity = quantity");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopBackend() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Baskets {
+        private final SplittableRandom random = new SplittableRandom(Thread.currentThread().getId());
+
+        SaleCreationDTO nextSale(BenchmarkData data) {
+            int lines = 1 + random.nextInt(5);
+            int firstArticle = random.nextInt(data.articles);
+            List<SaleCreationArticleDTO> articles = new ArrayList<>(lines);
+            for (int line = 0; line < lines; line++) {
+                articles.add(new SaleCreationArticleDTO(1L + (firstArticle + line) % data.articles, 1 + random.nextInt(3)));
+            }
+            return new SaleCreationDTO(1L + random.nextInt(data.customers), articles, 1L + random.nextInt(data.users));
+        }
+
+        SaleCreationDTO nextHotSale(BenchmarkData data) {
+            List<SaleCreationArticleDTO> articles = List.of(new SaleCreationArticleDTO(HOT_ARTICLE_ID, 1));
+            return new SaleCreationDTO(1L + random.nextInt(data.customers), articles, 1L + random.nextInt(data.users));
+        }
+
+        PurchaseCreationDTO nextPurchase(BenchmarkData data) {
+            // Seeded articles belong to provider 1 + articleId % providers
+            long providerId = 1 + random.nextInt(data.providers);
+            int articlesOfProvider = data.articles / data.providers;
+            int lines = 1 + random.nextInt(5);
+            int firstArticle = 1 + random.nextInt(articlesOfProvider - lines);
+            List<PurchaseCreationArticleDTO> articles = new ArrayList<>(lines);
+            for (int line = 0; line < lines; line++) {
+                long articleId = (long) (firstArticle + line) * data.providers + providerId - 1;
+                articles.add(new PurchaseCreationArticleDTO(articleId, 10 + random.nextInt(50)));
+            }
+            return new PurchaseCreationDTO(providerId, articles, 1L + random.nextInt(data.users));
+        }
+
+        int nextIndex(int size) {
+            return random.nextInt(size);
+        }
+
+        long nextArticleId(BenchmarkData data) {
+            return 1L + random.nextInt(data.articles);
+        }
+    }
+
+    @Benchmark
+    public SaleDetailDTO createSale(Baskets baskets) {
+        return saleService.createSale(baskets.nextSale(data));
+    }
+
+    @Benchmark
+    @Threads(64)
+    public SaleDetailDTO createSaleHotSku(Baskets baskets) {
+        return saleService.createSale(baskets.nextHotSale(data));
+    }
+
+    @Benchmark
+    public PurchaseDetailDTO createPurchase(Baskets baskets) {
+        return purchaseService.createPurchase(baskets.nextPurchase(data));
+    }
+
+    @Benchmark
+    public boolean sellStockFifo(Baskets baskets) {
+        return stockService.sellStock(baskets.nextArticleId(data), 1 + baskets.nextIndex(10));
+    }
+
+    @Benchmark
+    public ArticleDTO articleToDTO(Baskets baskets) {
+        return articleMapper.articleToDTO(sampleArticles.get(baskets.nextIndex(sampleArticles.size())));
+    }
+
+    @Benchmark
+    public SaleDetailDTO saleDetailToDTO(Baskets baskets) {
+        int index = baskets.nextIndex(sampleSaleRows.size());
+        Object[] saleRow = sampleSaleRows.get(index);
+        return saleMapper.saleDetailToDTO((Sale) saleRow[0], (Customer) saleRow[1], (User) saleRow[2], sampleSaleLines.get(index));
+    }
+
+    @Benchmark
+    public SaleDetailDTO getSaleById(Baskets baskets) {
+        return saleService.getSaleById(sampleSaleIds.get(baskets.nextIndex(sampleSaleIds.size())));
+    }
+
+    @Benchmark
+    public SalesPageDTO getAllSalesSearch() {
+        return saleService.getAllSales("Laura Gómez", 1, 20, true);
+    }
+
+    @Benchmark
+    public DataSummaryDTO getDataSummary() {
+        return dataService.getDataSummary();
+    }
+}
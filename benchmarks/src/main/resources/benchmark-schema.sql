@@ -0,0 +1,11 @@
+-- Applied after Hibernate has created the tables from the entities
+
+-- The summary queries read the createdAt column the MySQL schema has next to created_at
+ALTER TABLE sale ADD COLUMN createdAt TIMESTAMP GENERATED ALWAYS AS (created_at);
+ALTER TABLE purchase ADD COLUMN createdAt TIMESTAMP GENERATED ALWAYS AS (created_at);
+
+CREATE ALIAS Proc_get_article_by_id FOR 'com.inventorysystem.Backend.benchmarks.H2Procedures.getArticleById';
+CREATE ALIAS Proc_get_customer_by_id FOR 'com.inventorysystem.Backend.benchmarks.H2Procedures.getCustomerById';
+CREATE ALIAS Proc_get_user_by_id FOR 'com.inventorysystem.Backend.benchmarks.H2Procedures.getUserById';
+CREATE ALIAS Proc_get_provider_by_id FOR 'com.inventorysystem.Backend.benchmarks.H2Procedures.getProviderById';
+CREATE ALIAS Proc_get_category_by_id FOR 'com.inventorysystem.Backend.benchmarks.H2Procedures.getCategoryById';
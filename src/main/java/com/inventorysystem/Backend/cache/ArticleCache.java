@@ -0,0 +1,111 @@
+package com.inventorysystem.Backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.inventorysystem.Backend.dto.article.ArticleCacheStatsDTO;
+import com.inventorysystem.Backend.model.Article;
+import com.inventorysystem.Backend.repository.ArticleRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through cache of article snapshots in front of Proc_get_article_by_id, bounded by size and time.
+ * <p>
+ * Entries are detached copies and every read returns a fresh copy, so callers can modify what they get without
+ * touching the cache. Writers call {@link #invalidate} for each article they change: the entry is dropped at once
+ * and again when the transaction completes, whether it commits or rolls back. A load and an invalidation of the
+ * same key never interleave, so a value read before the commit cannot outlive it.
+ * <p>
+ * Reads that feed a read-modify-write of the article row must go to the repository, not to this cache.
+ */
+@Component
+public class ArticleCache {
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Value("${article.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${article.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<Long, Article> articles;
+    private final LongAdder invalidations = new LongAdder();
+
+    @PostConstruct
+    void initCache() {
+        articles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns a copy of the article, loading it on a miss, or null when it does not exist.
+     */
+    public Article get(Long articleId) {
+        Article cached = articles.get(articleId, id -> {
+            Article loaded = articleRepository.getArticleById(id);
+            return loaded == null ? null : copy(loaded);
+        });
+        return cached == null ? null : copy(cached);
+    }
+
+    public void invalidate(Long articleId) {
+        articles.invalidate(articleId);
+        invalidations.increment();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    articles.invalidate(articleId);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll(Collection<Long> articleIds) {
+        articleIds.forEach(this::invalidate);
+    }
+
+    public ArticleCacheStatsDTO stats() {
+        CacheStats stats = articles.stats();
+        return new ArticleCacheStatsDTO(
+                articles.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                invalidations.sum()
+        );
+    }
+
+    private static Article copy(Article article) {
+        Article copy = new Article(article.getArticleId());
+        copy.setName(article.getName());
+        copy.setBrand(article.getBrand());
+        copy.setStock(article.getStock());
+        copy.setPurchasePrice(article.getPurchasePrice());
+        copy.setSalePrice(article.getSalePrice());
+        copy.setWeight(article.getWeight());
+        copy.setCreatedAt(article.getCreatedAt());
+        copy.setExpiryDate(article.getExpiryDate());
+        copy.setUpdatedAt(article.getUpdatedAt());
+        copy.setProviderId(article.getProviderId());
+        copy.setCategoryId(article.getCategoryId());
+        copy.setStockCount(article.getStockCount());
+        return copy;
+    }
+}
@@ -0,0 +1,87 @@
+package com.inventorysystem.Backend.cache;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Immutable map from primitive long keys to values, stored as a sorted key array and a parallel value array.
+ * Lookups are a binary search with no boxing and no locking; changes build a new snapshot, which is cheap for
+ * the small, rarely written reference tables this is used for.
+ */
+final class LongKeyedSnapshot<V> {
+
+    private static final LongKeyedSnapshot<?> EMPTY = new LongKeyedSnapshot<>(new long[0], new Object[0]);
+
+    private final long[] keys;
+    private final Object[] values;
+
+    private LongKeyedSnapshot(long[] keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> LongKeyedSnapshot<V> empty() {
+        return (LongKeyedSnapshot<V>) EMPTY;
+    }
+
+    static <V> LongKeyedSnapshot<V> of(Map<Long, V> entries) {
+        long[] keys = new long[entries.size()];
+        int i = 0;
+        for (Long key : entries.keySet()) {
+            keys[i++] = key;
+        }
+        Arrays.sort(keys);
+
+        Object[] values = new Object[keys.length];
+        for (i = 0; i < keys.length; i++) {
+            values[i] = entries.get(keys[i]);
+        }
+        return new LongKeyedSnapshot<>(keys, values);
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int index = Arrays.binarySearch(keys, key);
+        return index >= 0 ? (V) values[index] : null;
+    }
+
+    LongKeyedSnapshot<V> with(long key, V value) {
+        int index = Arrays.binarySearch(keys, key);
+        if (index >= 0) {
+            Object[] newValues = values.clone();
+            newValues[index] = value;
+            return new LongKeyedSnapshot<>(keys, newValues);
+        }
+
+        int insertAt = -index - 1;
+        long[] newKeys = new long[keys.length + 1];
+        Object[] newValues = new Object[values.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, insertAt);
+        System.arraycopy(values, 0, newValues, 0, insertAt);
+        newKeys[insertAt] = key;
+        newValues[insertAt] = value;
+        System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+        System.arraycopy(values, insertAt, newValues, insertAt + 1, values.length - insertAt);
+        return new LongKeyedSnapshot<>(newKeys, newValues);
+    }
+
+    LongKeyedSnapshot<V> without(long key) {
+        int index = Arrays.binarySearch(keys, key);
+        if (index < 0) {
+            return this;
+        }
+
+        long[] newKeys = new long[keys.length - 1];
+        Object[] newValues = new Object[values.length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, index);
+        System.arraycopy(values, 0, newValues, 0, index);
+        System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+        System.arraycopy(values, index + 1, newValues, index, values.length - index - 1);
+        return new LongKeyedSnapshot<>(newKeys, newValues);
+    }
+
+    int size() {
+        return keys.length;
+    }
+}
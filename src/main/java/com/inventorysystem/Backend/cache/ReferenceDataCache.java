@@ -0,0 +1,138 @@
+package com.inventorysystem.Backend.cache;
+
+import com.inventorysystem.Backend.dto.category.CategoryDTO;
+import com.inventorysystem.Backend.dto.provider.ProviderDTO;
+import com.inventorysystem.Backend.mapper.CategoryMapper;
+import com.inventorysystem.Backend.mapper.ProviderMapper;
+import com.inventorysystem.Backend.model.Category;
+import com.inventorysystem.Backend.model.Provider;
+import com.inventorysystem.Backend.repository.CategoryRepository;
+import com.inventorysystem.Backend.repository.ProviderRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Providers and categories, already mapped to DTOs, for building article responses without a lookup per row.
+ * <p>
+ * Both tables are small and rarely written, so they are held as immutable snapshots keyed by primitive ids and
+ * replaced as a whole on change. The provider and category services refresh entries after their writes commit;
+ * an id missing from the snapshot is loaded once from the database, and a periodic reload picks up rows written
+ * by other instances. The returned DTOs are shared and must not be modified.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProviderMapper providerMapper;
+
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    private volatile LongKeyedSnapshot<ProviderDTO> providers = LongKeyedSnapshot.empty();
+    private volatile LongKeyedSnapshot<CategoryDTO> categories = LongKeyedSnapshot.empty();
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${reference-data.reload-interval-ms:600000}",
+            initialDelayString = "${reference-data.reload-interval-ms:600000}")
+    public void reload() {
+        Map<Long, ProviderDTO> loadedProviders = new HashMap<>();
+        for (Provider provider : providerRepository.findAll()) {
+            loadedProviders.put(provider.getProviderId(), providerMapper.providerToDTO(provider));
+        }
+        Map<Long, CategoryDTO> loadedCategories = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            loadedCategories.put(category.getCategoryId(), categoryMapper.categoryToDTO(category));
+        }
+
+        synchronized (this) {
+            providers = LongKeyedSnapshot.of(loadedProviders);
+            categories = LongKeyedSnapshot.of(loadedCategories);
+        }
+        logger.debug("Reference data loaded: {} providers, {} categories", loadedProviders.size(), loadedCategories.size());
+    }
+
+    public ProviderDTO getProvider(Long providerId) {
+        if (providerId == null) {
+            return null;
+        }
+        ProviderDTO provider = providers.get(providerId);
+        if (provider == null) {
+            Provider foundProvider = providerRepository.getProviderById(providerId);
+            if (foundProvider != null) {
+                provider = providerMapper.providerToDTO(foundProvider);
+                putProvider(providerId, provider);
+            }
+        }
+        return provider;
+    }
+
+    public CategoryDTO getCategory(Long categoryId) {
+        if (categoryId == null) {
+            return null;
+        }
+        CategoryDTO category = categories.get(categoryId);
+        if (category == null) {
+            Category foundCategory = categoryRepository.getCategoryById(categoryId);
+            if (foundCategory != null) {
+                category = categoryMapper.categoryToDTO(foundCategory);
+                putCategory(categoryId, category);
+            }
+        }
+        return category;
+    }
+
+    // Write-side refreshes take effect once the surrounding transaction commits
+    public void refreshProvider(Long providerId, ProviderDTO provider) {
+        afterCommit(() -> putProvider(providerId, provider));
+    }
+
+    public void refreshCategory(Long categoryId, CategoryDTO category) {
+        afterCommit(() -> putCategory(categoryId, category));
+    }
+
+    public void removeCategory(Long categoryId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                categories = categories.without(categoryId);
+            }
+        });
+    }
+
+    private synchronized void putProvider(Long providerId, ProviderDTO provider) {
+        providers = providers.with(providerId, provider);
+    }
+
+    private synchronized void putCategory(Long categoryId, CategoryDTO category) {
+        categories = categories.with(categoryId, category);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
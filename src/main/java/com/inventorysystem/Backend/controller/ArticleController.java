@@ -1,5 +1,6 @@
 package com.inventorysystem.Backend.controller;
 
+import com.inventorysystem.Backend.dto.article.ArticleCacheStatsDTO;
 import com.inventorysystem.Backend.dto.article.ArticleCreationDTO;
 import com.inventorysystem.Backend.dto.article.ArticleDTO;
 import com.inventorysystem.Backend.dto.article.ArticleUpdateDTO;
@@ -10,11 +11,16 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collections;
+import java.util.List;
+
 @RestController
 @RequestMapping("/article")
 @CrossOrigin
 public class ArticleController {
 
+    private static final int MAX_SUGGESTIONS = 50;
+
     @Autowired
     private ArticleService articleService;
 
@@ -31,11 +37,12 @@ public class ArticleController {
         }
     }
 
-    // Method to get a list of all articles, with pagination and optional search criteria
+    // Method to get a list of all articles, with pagination and optional search criteria (typo-tolerant with fuzzy=true)
     @GetMapping
     public ResponseEntity<ArticlesPageDTO> getAllArticles(
             @RequestParam(name = "providerId", required = false) Long providerId,
             @RequestParam(name = "searchCriteria", required = false) String criteria,
+            @RequestParam(name = "fuzzy", defaultValue = "false") boolean fuzzy,
             @RequestParam(name = "page") Integer page,
             @RequestParam(name = "pageSize") Integer pageSize
     ) {
@@ -45,7 +52,7 @@ public class ArticleController {
         }
 
         try {
-            ArticlesPageDTO articlesPage = articleService.getAllArticles(providerId, criteria, page, pageSize);
+            ArticlesPageDTO articlesPage = articleService.getAllArticles(providerId, criteria, fuzzy, page, pageSize);
             return ResponseEntity.status(HttpStatus.OK).body(articlesPage);
         } catch (Exception e) {
             // Log the exception
@@ -54,6 +61,28 @@ public class ArticleController {
         }
     }
 
+    // Method to get type-ahead suggestions for article names and brands, served from memory
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggestArticles(
+            @RequestParam(name = "prefix") String prefix,
+            @RequestParam(name = "limit", defaultValue = "10") Integer limit
+    ) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        // Suggestions start after two characters
+        if (prefix.trim().length() < 2) {
+            return ResponseEntity.status(HttpStatus.OK).body(Collections.emptyList());
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(articleService.suggestArticles(prefix, limit));
+    }
+
+    // Method to get hit, miss and eviction counts of the article cache
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ArticleCacheStatsDTO> getArticleCacheStats() {
+        return ResponseEntity.status(HttpStatus.OK).body(articleService.getArticleCacheStats());
+    }
+
     // Method to get a specific article by its ID
     @GetMapping("/{id}")
     public ResponseEntity<ArticleDTO> getArticleById(@PathVariable Long id) {
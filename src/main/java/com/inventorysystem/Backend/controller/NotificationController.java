@@ -5,8 +5,11 @@ import com.inventorysystem.Backend.service.NotificationService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.List;
 
@@ -31,6 +34,22 @@ public class NotificationController {
         }
     }
 
+    // STOMP: subscribing to /app/notifications/unread replies once with the unread list; later changes are pushed
+    // on /topic/notifications
+    @SubscribeMapping("/notifications/unread")
+    public List<NotificationDTO> subscribeUnreadNotifications() {
+        return notificationService.getUnreadNotifications();
+    }
+
+    // Server-sent events for clients without WebSockets: a snapshot event first, then notification events. Browsers
+    // send Last-Event-ID when they reconnect and get only the events they missed
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamNotifications(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(notificationService.streamNotifications(lastEventId));
+    }
+
     // Endpoint to fetch unread expiry notifications (specific to expiry)
     @GetMapping("/unread/expiry")
     public ResponseEntity<List<NotificationDTO>> getUnreadExpiryNotifications() {
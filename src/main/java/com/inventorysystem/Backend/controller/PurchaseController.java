@@ -18,18 +18,29 @@ public class PurchaseController {
     PurchaseService purchaseService;
 
     @PostMapping
-    ResponseEntity<PurchaseDetailDTO> createPurchase(@RequestBody PurchaseCreationDTO purchase) {
-        PurchaseDetailDTO createdPurchase = purchaseService.createPurchase(purchase);
+    ResponseEntity<PurchaseDetailDTO> createPurchase(
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody PurchaseCreationDTO purchase
+    ) {
+        PurchaseDetailDTO createdPurchase = (idempotencyKey == null || idempotencyKey.isBlank())
+                ? purchaseService.createPurchase(purchase)
+                : purchaseService.createPurchase(purchase, idempotencyKey);
         return ResponseEntity.status(HttpStatus.OK).body(createdPurchase);
     }
 
     @GetMapping
     ResponseEntity<PurchasesPageDTO> getAllPurchases(
             @RequestParam(name = "searchCriteria", required = false) String criteria,
-            @RequestParam(name = "page") Integer page,
-            @RequestParam(name = "pageSize") Integer pageSize
+            @RequestParam(name = "page", required = false) Integer page,
+            @RequestParam(name = "pageSize") Integer pageSize,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal
     ) {
-        return ResponseEntity.status(HttpStatus.OK).body(purchaseService.getAllPurchases(criteria, page, pageSize));
+        // With a cursor the page is found by seeking on the id, so deep pages cost the same as the first one
+        if (after != null && !after.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.OK).body(purchaseService.getPurchasesAfter(criteria, after, pageSize, includeTotal));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(purchaseService.getAllPurchases(criteria, page != null ? page : 1, pageSize));
     }
 
     @GetMapping("/{id}")
@@ -1,14 +1,25 @@
 package com.inventorysystem.Backend.controller;
 
+import com.inventorysystem.Backend.dto.sale.SaleAcceptedDTO;
 import com.inventorysystem.Backend.dto.sale.SaleCreationDTO;
 import com.inventorysystem.Backend.dto.sale.SaleDetailDTO;
 import com.inventorysystem.Backend.dto.sale.SalesPageDTO;
+import com.inventorysystem.Backend.dto.sale.StockShortageDTO;
+import com.inventorysystem.Backend.exception.InsufficientStockException;
+import com.inventorysystem.Backend.exception.SaleQueueUnavailableException;
+import com.inventorysystem.Backend.service.SaleGroupCommitService;
+import com.inventorysystem.Backend.service.SaleIngestionService;
 import com.inventorysystem.Backend.service.SaleService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/sale")
 @CrossOrigin
@@ -17,23 +28,89 @@ public class SaleController {
     @Autowired
     SaleService saleService;
 
+    @Autowired
+    SaleIngestionService saleIngestionService;
+
+    // Offset pages of a search past this many rows are refused; deeper pages are read with the cursor
+    @Value("${sale.search.max-offset:10000}")
+    int maxSearchOffset;
+
+    // Only present when sale.group-commit.enabled=true
+    @Autowired(required = false)
+    SaleGroupCommitService saleGroupCommitService;
+
     @PostMapping
-    ResponseEntity<SaleDetailDTO> createSale(@RequestBody SaleCreationDTO sale) {
-        SaleDetailDTO createdSale = saleService.createSale(sale);
+    ResponseEntity<SaleDetailDTO> createSale(
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody SaleCreationDTO sale
+    ) {
+        SaleDetailDTO createdSale = (idempotencyKey == null || idempotencyKey.isBlank())
+                ? saleService.createSale(sale)
+                : saleService.createSale(sale, idempotencyKey);
         return ResponseEntity.status(HttpStatus.OK).body(createdSale);
     }
 
+    // Acknowledges the sale once it is in the local write-ahead log; it is written to the database in the next group commit
+    @PostMapping("/queued")
+    ResponseEntity<SaleAcceptedDTO> enqueueSale(@RequestBody SaleCreationDTO sale) {
+        if (saleGroupCommitService == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(saleGroupCommitService.enqueueSale(sale));
+    }
+
+    // APPLIED with the sale id, REJECTED with the reason, or still QUEUED
+    @GetMapping("/queued/{sequence}")
+    ResponseEntity<SaleAcceptedDTO> getQueuedSale(@PathVariable Long sequence) {
+        if (saleGroupCommitService == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(saleGroupCommitService.getQueuedSale(sequence));
+    }
+
+    // Replays offline tickets sent as NDJSON or a JSON array; results are streamed back as NDJSON, one line per ticket
+    @PostMapping("/batch")
+    void createSalesBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType("application/x-ndjson");
+        saleIngestionService.ingestSales(request.getInputStream(), response.getOutputStream());
+    }
+
     @GetMapping
     ResponseEntity<SalesPageDTO> getAllSales(
             @RequestParam(name = "searchCriteria", required = false) String criteria,
-            @RequestParam(name = "page") Integer page,
-            @RequestParam(name = "pageSize") Integer pageSize
+            @RequestParam(name = "page", required = false) Integer page,
+            @RequestParam(name = "pageSize") Integer pageSize,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal
     ) {
-        return ResponseEntity.status(HttpStatus.OK).body(saleService.getAllSales(criteria, page, pageSize));
+        // With a cursor the page is found by seeking on the id, so deep pages cost the same as the first one
+        if (after != null && !after.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.OK).body(saleService.getSalesAfter(criteria, after, pageSize, includeTotal));
+        }
+        int requestedPage = page != null ? page : 1;
+        if (requestedPage < 1 || pageSize < 1) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        if (criteria != null && !criteria.isEmpty() && (long) (requestedPage - 1) * pageSize > maxSearchOffset) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(saleService.getAllSales(criteria, requestedPage, pageSize, includeTotal));
     }
 
     @GetMapping("/{id}")
     ResponseEntity<SaleDetailDTO> getSaleById(@PathVariable Long id) {
         return ResponseEntity.status(HttpStatus.OK).body(saleService.getSaleById(id));
     }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    ResponseEntity<StockShortageDTO> handleInsufficientStock(InsufficientStockException exception) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(exception.getShortage());
+    }
+
+    // The queued sale was not acknowledged in time or the pipeline is stopping; the client retries later
+    @ExceptionHandler(SaleQueueUnavailableException.class)
+    ResponseEntity<String> handleSaleQueueUnavailable(SaleQueueUnavailableException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(exception.getMessage());
+    }
 }
@@ -0,0 +1,19 @@
+package com.inventorysystem.Backend.dto.Notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationEventDTO {
+
+    public enum Type {
+        CREATED,
+        READ
+    }
+
+    private Type type;
+    private NotificationDTO notification;
+}
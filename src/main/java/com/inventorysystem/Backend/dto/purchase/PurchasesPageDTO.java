@@ -15,4 +15,5 @@ public class PurchasesPageDTO {
     private Long totalRecords;
     private Integer totalPages;
     private List<PurchaseDTO> purchases;
+    private String nextCursor;  // Pass as "after" to fetch the next page by keyset instead of offset
 }
@@ -0,0 +1,19 @@
+package com.inventorysystem.Backend.dto.sale;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SaleAcceptedDTO {
+    private Long sequence;   // Position of the sale in the write-ahead log
+    private String status;   // QUEUED until the sale is applied, then APPLIED or REJECTED
+    private Long saleId;     // The created sale, once APPLIED
+    private String reason;   // Why the sale could not be applied, when REJECTED
+
+    public SaleAcceptedDTO(Long sequence, String status) {
+        this(sequence, status, null, null);
+    }
+}
@@ -0,0 +1,23 @@
+package com.inventorysystem.Backend.dto.sale;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SaleBatchResultDTO {
+    private Integer ticket;   // Position of the ticket in the submitted stream, starting at 1
+    private Long saleId;      // Id of the created sale, null when the ticket failed
+    private String status;    // CREATED or FAILED
+    private String error;
+
+    public static SaleBatchResultDTO created(Integer ticket, Long saleId) {
+        return new SaleBatchResultDTO(ticket, saleId, "CREATED", null);
+    }
+
+    public static SaleBatchResultDTO failed(Integer ticket, String error) {
+        return new SaleBatchResultDTO(ticket, null, "FAILED", error);
+    }
+}
@@ -0,0 +1,13 @@
+package com.inventorysystem.Backend.dto.sale;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SaleWalRecordDTO {
+    private Long sequence;
+    private SaleCreationDTO sale;
+}
@@ -15,4 +15,5 @@ public class SalesPageDTO {
     private Long totalRecords;
     private Integer totalPages;
     private List<SaleDTO> sales;
+    private String nextCursor;  // Pass as "after" to fetch the next page by keyset instead of offset
 }
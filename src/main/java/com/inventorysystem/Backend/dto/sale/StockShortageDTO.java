@@ -0,0 +1,15 @@
+package com.inventorysystem.Backend.dto.sale;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockShortageDTO {
+    private Integer line;
+    private Long articleId;
+    private Integer requestedQuantity;
+    private String message;
+}
@@ -0,0 +1,17 @@
+package com.inventorysystem.Backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+
+/**
+ * Published by every write that changes article stock. Listeners that react to stock levels receive it once the
+ * write has committed.
+ */
+@Getter
+@AllArgsConstructor
+public class StockChangedEvent {
+
+    private final Collection<Long> articleIds;
+}
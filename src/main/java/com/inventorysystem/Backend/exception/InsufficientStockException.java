@@ -0,0 +1,22 @@
+package com.inventorysystem.Backend.exception;
+
+import com.inventorysystem.Backend.dto.sale.StockShortageDTO;
+
+/**
+ * Thrown when a sale line asks for more units than the article has in stock.
+ * The whole sale is rolled back and the offending line is reported back to the caller.
+ */
+public class InsufficientStockException extends RuntimeException {
+
+    private final StockShortageDTO shortage;
+
+    public InsufficientStockException(StockShortageDTO shortage) {
+        super("Insufficient stock for article " + shortage.getArticleId() +
+                " (requested " + shortage.getRequestedQuantity() + ")");
+        this.shortage = shortage;
+    }
+
+    public StockShortageDTO getShortage() {
+        return shortage;
+    }
+}
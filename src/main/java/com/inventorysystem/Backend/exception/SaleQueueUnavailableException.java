@@ -0,0 +1,12 @@
+package com.inventorysystem.Backend.exception;
+
+/**
+ * Thrown when a queued sale could not be acknowledged in time, or the group-commit pipeline is shutting down.
+ * The caller gets a 503 and may retry the sale later.
+ */
+public class SaleQueueUnavailableException extends RuntimeException {
+
+    public SaleQueueUnavailableException(String message) {
+        super(message);
+    }
+}
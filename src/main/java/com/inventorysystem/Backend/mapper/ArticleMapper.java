@@ -1,12 +1,10 @@
 package com.inventorysystem.Backend.mapper;
 
+import com.inventorysystem.Backend.cache.ReferenceDataCache;
 import com.inventorysystem.Backend.dto.article.ArticleDTO;
 import com.inventorysystem.Backend.model.Article;
 import com.inventorysystem.Backend.model.Category;
 import com.inventorysystem.Backend.model.Provider;
-import com.inventorysystem.Backend.repository.CategoryRepository;
-import com.inventorysystem.Backend.repository.ProviderRepository;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 
@@ -14,13 +12,7 @@ import org.springframework.context.annotation.Configuration;
 public class ArticleMapper {
 
     @Autowired
-    private ModelMapper modelMapper;
-
-    @Autowired
-    private ProviderRepository providerRepository;
-
-    @Autowired
-    private CategoryRepository categoryRepository;
+    private ReferenceDataCache referenceDataCache;
 
     @Autowired
     private ProviderMapper providerMapper;
@@ -39,25 +31,46 @@ public class ArticleMapper {
             return null; // Handle null article input gracefully
         }
 
-        // Map basic fields from Article to ArticleDTO using ModelMapper
-        ArticleDTO convertedArticle = modelMapper.map(article, ArticleDTO.class);
+        // Provider and Category details come from the in-memory reference data, not a query per article
+        ArticleDTO convertedArticle = articleFieldsToDTO(article);
+        convertedArticle.setProvider(referenceDataCache.getProvider(article.getProviderId()));
+        convertedArticle.setCategory(referenceDataCache.getCategory(article.getCategoryId()));
 
-        // Fetch and set Provider details
-        Provider foundProvider = providerRepository.getProviderById(article.getProviderId());
-        if (foundProvider != null) {
-            convertedArticle.setProvider(providerMapper.providerToDTO(foundProvider));
-        } else {
-            convertedArticle.setProvider(null); // Handle case where Provider is not found
-        }
+        return convertedArticle;
+    }
 
-        // Fetch and set Category details
-        Category foundCategory = categoryRepository.getCategoryById(article.getCategoryId());
-        if (foundCategory != null) {
-            convertedArticle.setCategory(categoryMapper.categoryToDTO(foundCategory));
-        } else {
-            convertedArticle.setCategory(null); // Handle case where Category is not found
+    /**
+     * Converts an Article entity to an ArticleDTO using a provider and category the caller already loaded.
+     *
+     * @param article  the Article entity
+     * @param provider the article's Provider, or null if it does not exist
+     * @param category the article's Category, or null if it does not exist
+     * @return the ArticleDTO representation
+     */
+    public ArticleDTO articleToDTO(Article article, Provider provider, Category category) {
+        if (article == null) {
+            return null;
         }
 
+        // Map basic fields from Article to ArticleDTO
+        ArticleDTO convertedArticle = articleFieldsToDTO(article);
+
+        // Handle case where Provider or Category is not found
+        convertedArticle.setProvider(provider != null ? providerMapper.providerToDTO(provider) : null);
+        convertedArticle.setCategory(category != null ? categoryMapper.categoryToDTO(category) : null);
+
+        return convertedArticle;
+    }
+
+    private static ArticleDTO articleFieldsToDTO(Article article) {
+        ArticleDTO convertedArticle = new ArticleDTO();
+        convertedArticle.setArticleId(article.getArticleId());
+        convertedArticle.setName(article.getName());
+        convertedArticle.setBrand(article.getBrand());
+        convertedArticle.setStock(article.getStock());
+        convertedArticle.setPurchasePrice(article.getPurchasePrice());
+        convertedArticle.setSalePrice(article.getSalePrice());
+        convertedArticle.setWeight(article.getWeight());
         return convertedArticle;
     }
 }
@@ -2,16 +2,24 @@ package com.inventorysystem.Backend.mapper;
 
 import com.inventorysystem.Backend.dto.customer.CustomerDTO;
 import com.inventorysystem.Backend.model.Customer;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class CustomerMapper {
-    @Autowired
-    ModelMapper modelMapper;
 
     public CustomerDTO customerToDTO(Customer customer) {
-        return modelMapper.map(customer, CustomerDTO.class);
+        if (customer == null) {
+            return null;
+        }
+        return new CustomerDTO(
+                customer.getCustomerId(),
+                customer.getName(),
+                customer.getPhoneNumber(),
+                customer.getEmail(),
+                customer.getDocument(),
+                customer.getAddress(),
+                customer.getState(),
+                customer.getCity()
+        );
     }
 }
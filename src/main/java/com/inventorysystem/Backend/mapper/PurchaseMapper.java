@@ -1,24 +1,24 @@
 package com.inventorysystem.Backend.mapper;
 
+import com.inventorysystem.Backend.cache.ArticleCache;
 import com.inventorysystem.Backend.dto.purchase.PurchaseArticleDTO;
 import com.inventorysystem.Backend.dto.purchase.PurchaseDTO;
 import com.inventorysystem.Backend.dto.purchase.PurchaseDetailDTO;
 import com.inventorysystem.Backend.model.*;
-import com.inventorysystem.Backend.repository.ArticleRepository;
 import com.inventorysystem.Backend.repository.ProviderRepository;
 import com.inventorysystem.Backend.repository.UserRepository;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Configuration
 public class PurchaseMapper {
-    @Autowired
-    ModelMapper modelMapper;
-
     @Autowired
     ProviderRepository providerRepository;
 
@@ -26,7 +26,7 @@ public class PurchaseMapper {
     UserRepository userRepository;
 
     @Autowired
-    ArticleRepository articleRepository;
+    ArticleCache articleCache;
 
     @Autowired
     ProviderMapper providerMapper;
@@ -38,29 +38,90 @@ public class PurchaseMapper {
     ArticleMapper articleMapper;
 
     public PurchaseDTO purchaseToDTO(Purchase purchase) {
-        PurchaseDTO convertedPurchase = modelMapper.map(purchase, PurchaseDTO.class);
-
         Provider foundProvider = providerRepository.getProviderById(purchase.getProviderId());
         User foundUser = userRepository.getUserById(purchase.getUserId());
+        return purchaseToDTO(purchase, foundProvider, foundUser);
+    }
 
-        convertedPurchase.setProvider(providerMapper.providerToDTO(foundProvider));
-        convertedPurchase.setUser(userMapper.userToDTO(foundUser));
-
+    public PurchaseDTO purchaseToDTO(Purchase purchase, Provider provider, User user) {
+        PurchaseDTO convertedPurchase = purchaseFieldsToDTO(purchase, new PurchaseDTO());
+        convertedPurchase.setProvider(provider != null ? providerMapper.providerToDTO(provider) : null);
+        convertedPurchase.setUser(user != null ? userMapper.userToDTO(user) : null);
         return convertedPurchase;
     }
 
+    /**
+     * Maps a page of purchases loading the distinct providers and users of the page with one query each,
+     * so the number of queries does not grow with the page size.
+     */
+    public List<PurchaseDTO> purchasesToDTO(List<Purchase> purchases) {
+        Set<Long> providerIds = purchases.stream().map(Purchase::getProviderId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> userIds = purchases.stream().map(Purchase::getUserId).filter(Objects::nonNull).collect(Collectors.toSet());
+
+        Map<Long, Provider> providersById = providerRepository.findAllById(providerIds).stream()
+                .collect(Collectors.toMap(Provider::getProviderId, Function.identity()));
+        Map<Long, User> usersById = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        return purchases.stream()
+                .map(purchase -> purchaseToDTO(purchase, providersById.get(purchase.getProviderId()), usersById.get(purchase.getUserId())))
+                .collect(Collectors.toList());
+    }
+
     public PurchaseArticleDTO purchaseArticleToDTO(PurchaseDetail purchaseDetail) {
-        PurchaseArticleDTO convertedPurchaseDetail = modelMapper.map(purchaseDetail, PurchaseArticleDTO.class);
+        Article foundArticle = articleCache.get(purchaseDetail.getArticleId());
+        return purchaseArticleToDTO(purchaseDetail, foundArticle);
+    }
+
+    public PurchaseArticleDTO purchaseArticleToDTO(PurchaseDetail purchaseDetail, Article article) {
+        PurchaseArticleDTO convertedPurchaseDetail = purchaseLineToDTO(purchaseDetail);
+        convertedPurchaseDetail.setArticle(articleMapper.articleToDTO(article));
+        return convertedPurchaseDetail;
+    }
+
+    // Same as purchaseDetailToDTO(Purchase, List) but takes the articles the caller already holds instead of reading them again
+    public PurchaseDetailDTO purchaseDetailToDTO(Purchase purchase, List<PurchaseDetail> purchaseArticles, Map<Long, Article> articlesById) {
+        PurchaseDetailDTO convertedPurchaseDetail = purchaseFieldsToDTO(purchase, new PurchaseDetailDTO());
+
+        Provider foundProvider = providerRepository.getProviderById(purchase.getProviderId());
+        User foundUser = userRepository.getUserById(purchase.getUserId());
+        convertedPurchaseDetail.setProvider(providerMapper.providerToDTO(foundProvider));
+        convertedPurchaseDetail.setUser(userMapper.userToDTO(foundUser));
+
+        List<PurchaseArticleDTO> purchaseArticleDetails = purchaseArticles.stream()
+                .map(purArticle -> purchaseArticleToDTO(purArticle, articlesById.get(purArticle.getArticleId())))
+                .collect(Collectors.toList());
+        convertedPurchaseDetail.setPurchaseArticles(purchaseArticleDetails);
+
+        return convertedPurchaseDetail;
+    }
 
-        Article foundArticle = articleRepository.getArticleById(purchaseDetail.getArticleId());
-        convertedPurchaseDetail.setArticle(articleMapper.articleToDTO(foundArticle));
+    /**
+     * Maps a purchase fetched with PurchaseRepository.findPurchaseWithProviderAndUser and
+     * PurchaseDetailRepository.findPurchaseLinesWithArticles, without any further lookups.
+     *
+     * @param purchaseLines rows of [PurchaseDetail, Article, Provider, Category]
+     */
+    public PurchaseDetailDTO purchaseDetailToDTO(Purchase purchase, Provider provider, User user, List<Object[]> purchaseLines) {
+        PurchaseDetailDTO convertedPurchaseDetail = purchaseFieldsToDTO(purchase, new PurchaseDetailDTO());
+        convertedPurchaseDetail.setProvider(provider != null ? providerMapper.providerToDTO(provider) : null);
+        convertedPurchaseDetail.setUser(user != null ? userMapper.userToDTO(user) : null);
+
+        List<PurchaseArticleDTO> purchaseArticleDetails = purchaseLines.stream()
+                .map(line -> {
+                    PurchaseArticleDTO convertedLine = purchaseLineToDTO((PurchaseDetail) line[0]);
+                    convertedLine.setArticle(articleMapper.articleToDTO((Article) line[1], (Provider) line[2], (Category) line[3]));
+                    return convertedLine;
+                })
+                .collect(Collectors.toList());
+        convertedPurchaseDetail.setPurchaseArticles(purchaseArticleDetails);
 
         return convertedPurchaseDetail;
     }
 
     public PurchaseDetailDTO purchaseDetailToDTO(Purchase purchase, List<PurchaseDetail> purchaseArticles) {
         // General information about the purchase
-        PurchaseDetailDTO convertedPurchaseDetail = modelMapper.map(purchase, PurchaseDetailDTO.class);
+        PurchaseDetailDTO convertedPurchaseDetail = purchaseFieldsToDTO(purchase, new PurchaseDetailDTO());
 
         Provider foundProvider = providerRepository.getProviderById(purchase.getProviderId());
         User foundUser = userRepository.getUserById(purchase.getUserId());
@@ -75,4 +136,18 @@ public class PurchaseMapper {
 
         return convertedPurchaseDetail;
     }
-}
\ No newline at end of file
+
+    private static <T extends PurchaseDTO> T purchaseFieldsToDTO(Purchase purchase, T convertedPurchase) {
+        convertedPurchase.setPurchaseId(purchase.getPurchaseId());
+        convertedPurchase.setTotalValue(purchase.getTotalValue());
+        convertedPurchase.setCreatedAt(purchase.getCreatedAt() != null ? purchase.getCreatedAt().toString() : null);
+        return convertedPurchase;
+    }
+
+    private static PurchaseArticleDTO purchaseLineToDTO(PurchaseDetail purchaseDetail) {
+        PurchaseArticleDTO convertedLine = new PurchaseArticleDTO();
+        convertedLine.setArticleQuantity(purchaseDetail.getArticleQuantity());
+        convertedLine.setPrice(purchaseDetail.getPrice());
+        return convertedLine;
+    }
+}
@@ -1,25 +1,25 @@
 package com.inventorysystem.Backend.mapper;
 
+import com.inventorysystem.Backend.cache.ArticleCache;
 import com.inventorysystem.Backend.dto.sale.SaleArticleDTO;
 import com.inventorysystem.Backend.dto.sale.SaleDTO;
 import com.inventorysystem.Backend.dto.sale.SaleDetailDTO;
 import com.inventorysystem.Backend.model.*;
-import com.inventorysystem.Backend.repository.ArticleRepository;
 import com.inventorysystem.Backend.repository.CustomerRepository;
 import com.inventorysystem.Backend.repository.UserRepository;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Configuration
 public class SaleMapper {
 
-    @Autowired
-    ModelMapper modelMapper;
-
     @Autowired
     CustomerRepository customerRepository;
 
@@ -27,7 +27,7 @@ public class SaleMapper {
     UserRepository userRepository;
 
     @Autowired
-    ArticleRepository articleRepository;
+    ArticleCache articleCache;
 
     @Autowired
     CustomerMapper customerMapper;
@@ -39,29 +39,90 @@ public class SaleMapper {
     ArticleMapper articleMapper;
 
     public SaleDTO saleToDTO(Sale sale) {
-        SaleDTO convertedSale = modelMapper.map(sale, SaleDTO.class);
-
         Customer foundCustomer = customerRepository.getCustomerById(sale.getCustomerId());
         User foundUser = userRepository.getUserById(sale.getUserId());
+        return saleToDTO(sale, foundCustomer, foundUser);
+    }
 
-        convertedSale.setCustomer(customerMapper.customerToDTO(foundCustomer));
-        convertedSale.setUser(userMapper.userToDTO(foundUser));
-
+    public SaleDTO saleToDTO(Sale sale, Customer customer, User user) {
+        SaleDTO convertedSale = saleFieldsToDTO(sale, new SaleDTO());
+        convertedSale.setCustomer(customer != null ? customerMapper.customerToDTO(customer) : null);
+        convertedSale.setUser(user != null ? userMapper.userToDTO(user) : null);
         return convertedSale;
     }
 
+    /**
+     * Maps a page of sales loading the distinct customers and users of the page with one query each,
+     * so the number of queries does not grow with the page size.
+     */
+    public List<SaleDTO> salesToDTO(List<Sale> sales) {
+        Set<Long> customerIds = sales.stream().map(Sale::getCustomerId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> userIds = sales.stream().map(Sale::getUserId).filter(Objects::nonNull).collect(Collectors.toSet());
+
+        Map<Long, Customer> customersById = customerRepository.findAllById(customerIds).stream()
+                .collect(Collectors.toMap(Customer::getCustomerId, Function.identity()));
+        Map<Long, User> usersById = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        return sales.stream()
+                .map(sale -> saleToDTO(sale, customersById.get(sale.getCustomerId()), usersById.get(sale.getUserId())))
+                .collect(Collectors.toList());
+    }
+
     public SaleArticleDTO saleArticleToDTO(SaleDetail saleDetail) {
-        SaleArticleDTO convertedSaleDetail = modelMapper.map(saleDetail, SaleArticleDTO.class);
+        Article foundArticle = articleCache.get(saleDetail.getArticleId());
+        return saleArticleToDTO(saleDetail, foundArticle);
+    }
+
+    public SaleArticleDTO saleArticleToDTO(SaleDetail saleDetail, Article article) {
+        SaleArticleDTO convertedSaleDetail = saleLineToDTO(saleDetail);
+        convertedSaleDetail.setArticle(articleMapper.articleToDTO(article));
+        return convertedSaleDetail;
+    }
+
+    // Same as saleDetailToDTO(Sale, List) but takes the articles the caller already holds instead of reading them again
+    public SaleDetailDTO saleDetailToDTO(Sale sale, List<SaleDetail> saleArticles, Map<Long, Article> articlesById) {
+        SaleDetailDTO convertedSaleDetail = saleFieldsToDTO(sale, new SaleDetailDTO());
+
+        Customer foundCustomer = customerRepository.getCustomerById(sale.getCustomerId());
+        User foundUser = userRepository.getUserById(sale.getUserId());
+        convertedSaleDetail.setCustomer(customerMapper.customerToDTO(foundCustomer));
+        convertedSaleDetail.setUser(userMapper.userToDTO(foundUser));
+
+        List<SaleArticleDTO> saleArticleDetails = saleArticles.stream()
+                .map(saleArticle -> saleArticleToDTO(saleArticle, articlesById.get(saleArticle.getArticleId())))
+                .collect(Collectors.toList());
+        convertedSaleDetail.setSaleArticles(saleArticleDetails);
+
+        return convertedSaleDetail;
+    }
 
-        Article foundArticle = articleRepository.getArticleById(saleDetail.getArticleId());
-        convertedSaleDetail.setArticle(articleMapper.articleToDTO(foundArticle));
+    /**
+     * Maps a sale fetched with SaleRepository.findSaleWithCustomerAndUser and
+     * SaleDetailRepository.findSaleLinesWithArticles, without any further lookups.
+     *
+     * @param saleLines rows of [SaleDetail, Article, Provider, Category]
+     */
+    public SaleDetailDTO saleDetailToDTO(Sale sale, Customer customer, User user, List<Object[]> saleLines) {
+        SaleDetailDTO convertedSaleDetail = saleFieldsToDTO(sale, new SaleDetailDTO());
+        convertedSaleDetail.setCustomer(customer != null ? customerMapper.customerToDTO(customer) : null);
+        convertedSaleDetail.setUser(user != null ? userMapper.userToDTO(user) : null);
+
+        List<SaleArticleDTO> saleArticleDetails = saleLines.stream()
+                .map(line -> {
+                    SaleArticleDTO convertedLine = saleLineToDTO((SaleDetail) line[0]);
+                    convertedLine.setArticle(articleMapper.articleToDTO((Article) line[1], (Provider) line[2], (Category) line[3]));
+                    return convertedLine;
+                })
+                .collect(Collectors.toList());
+        convertedSaleDetail.setSaleArticles(saleArticleDetails);
 
         return convertedSaleDetail;
     }
 
     public SaleDetailDTO saleDetailToDTO(Sale sale, List<SaleDetail> saleArticles) {
         // General information about the sale
-        SaleDetailDTO convertedSaleDetail = modelMapper.map(sale, SaleDetailDTO.class);
+        SaleDetailDTO convertedSaleDetail = saleFieldsToDTO(sale, new SaleDetailDTO());
 
         Customer foundCustomer = customerRepository.getCustomerById(sale.getCustomerId());
         User foundUser = userRepository.getUserById(sale.getUserId());
@@ -76,4 +137,18 @@ public class SaleMapper {
 
         return convertedSaleDetail;
     }
+
+    private static <T extends SaleDTO> T saleFieldsToDTO(Sale sale, T convertedSale) {
+        convertedSale.setSaleId(sale.getSaleId());
+        convertedSale.setTotalValue(sale.getTotalValue());
+        convertedSale.setCreatedAt(sale.getCreatedAt() != null ? sale.getCreatedAt().toString() : null);
+        return convertedSale;
+    }
+
+    private static SaleArticleDTO saleLineToDTO(SaleDetail saleDetail) {
+        SaleArticleDTO convertedLine = new SaleArticleDTO();
+        convertedLine.setArticleQuantity(saleDetail.getArticleQuantity());
+        convertedLine.setPrice(saleDetail.getPrice());
+        return convertedLine;
+    }
 }
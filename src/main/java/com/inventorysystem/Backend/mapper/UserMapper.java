@@ -2,16 +2,22 @@ package com.inventorysystem.Backend.mapper;
 
 import com.inventorysystem.Backend.dto.user.UserDTO;
 import com.inventorysystem.Backend.model.User;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class UserMapper {
-    @Autowired
-    ModelMapper modelMapper;
 
     public UserDTO userToDTO(User user) {
-        return modelMapper.map(user, UserDTO.class);
+        if (user == null) {
+            return null;
+        }
+        return new UserDTO(
+                user.getUserId(),
+                user.getName(),
+                user.getUsername(),
+                user.getPhoneNumber(),
+                user.getEmail(),
+                user.getAdmin()
+        );
     }
 }
@@ -0,0 +1,27 @@
+package com.inventorysystem.Backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+@Table(name = "idempotency_key")
+public class IdempotencyKey {
+
+    // Scope and client key, e.g. "sale:3f2c9a..."
+    @Id
+    @Column(name = "idempotency_key", length = 80)
+    private String idempotencyKey;
+
+    // Id of the sale or purchase created with this key
+    @Column(name = "resource_id")
+    private Long resourceId;
+
+    @Column(name = "createdAt")
+    private LocalDateTime createdAt;
+}
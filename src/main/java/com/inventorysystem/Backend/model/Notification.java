@@ -13,7 +13,12 @@ import java.time.LocalDateTime;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-
+// The first backs the anti-join that looks for an unread notification per article, the second the feed's
+// lookup of unread ids
+@Table(indexes = {
+        @Index(name = "idx_notification_article_read", columnList = "articleId, isRead"),
+        @Index(name = "idx_notification_read", columnList = "isRead")
+})
 public class Notification {
 
     @Id
@@ -0,0 +1,37 @@
+package com.inventorysystem.Backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+@Table(name = "queued_sale_outcome")
+public class QueuedSaleOutcome {
+
+    public static final String APPLIED = "APPLIED";
+    public static final String REJECTED = "REJECTED";
+
+    // Write-ahead log epoch and sequence, e.g. "3f2c9a1b-42"
+    @Id
+    @Column(name = "outcome_key", length = 40)
+    private String outcomeKey;
+
+    @Column(name = "status", length = 16)
+    private String status;
+
+    // Id of the created sale, when applied
+    @Column(name = "sale_id")
+    private Long saleId;
+
+    // Why the sale was not applied, when rejected
+    @Column(name = "reason")
+    private String reason;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -13,7 +13,10 @@ import java.time.LocalDateTime;
 
 @Entity
 @Getter @Setter @AllArgsConstructor @NoArgsConstructor
-@Table(name = "sale")
+@Table(name = "sale", indexes = {
+        @Index(name = "idx_sale_customer_id", columnList = "customer_id"),
+        @Index(name = "idx_sale_user_id", columnList = "user_id")
+})
 public class Sale {
 
     @Id
@@ -1,35 +1,37 @@
 package com.inventorysystem.Backend.repository;
 
 import com.inventorysystem.Backend.model.Article;
+import jakarta.persistence.LockModeType;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.query.Procedure;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ArticleRepository extends JpaRepository<Article, Long> {
+public interface ArticleRepository extends JpaRepository<Article, Long>, ArticleRepositoryCustom {
 
     Article findByName(String name);
 
+    // Stops at the first of the ids that exists
+    boolean existsByArticleIdIn(Collection<Long> articleIds);
+
     @Procedure(procedureName = "Proc_get_all_articles")
     List<Article> getAllArticles();
 
     @Query(nativeQuery = true, value = "SELECT * FROM article WHERE provider_id = :providerId")
     Page<Article> findAllArticlesByProvider(@Param("providerId") Long providerId, Pageable pageable);
 
-    @Query(nativeQuery = true, value = "SELECT * FROM article " +
-            "WHERE provider_id = :providerId " +
-            "AND (CAST(article_id AS CHAR) = :searchTerm OR LOWER(name) LIKE %:searchTerm% OR LOWER(brand) LIKE %:searchTerm%)")
-    Page<Article> findAllArticlesByProviderAndTerm(@Param("providerId") Long providerId, @Param("searchTerm") String searchTerm, Pageable pageable);
-
     @Procedure(procedureName = "Proc_get_article_by_id")
     Article getArticleById(@Param("Ip_article_id") Long articleId);
 
@@ -66,6 +68,21 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
     @Query("SELECT SUM(stock) FROM Article article")
     Long getTotalStock();
 
+    // Guarded decrement: only succeeds (returns 1) when enough stock is left, so no prior read is needed
+    @Modifying(clearAutomatically = true)
+    @Query(nativeQuery = true, value = "UPDATE article SET stock = stock - :quantity " +
+            "WHERE article_id = :articleId AND stock >= :quantity")
+    int decrementStock(@Param("articleId") Long articleId, @Param("quantity") Integer quantity);
+
+    // Row locks in article id order, the same order the guarded decrements of a single sale take them in
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Article a WHERE a.articleId IN :articleIds ORDER BY a.articleId")
+    List<Article> findAllByIdForUpdate(@Param("articleIds") Collection<Long> articleIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query(nativeQuery = true, value = "UPDATE article SET stock = stock + :quantity WHERE article_id = :articleId")
+    int incrementStock(@Param("articleId") Long articleId, @Param("quantity") Integer quantity);
+
 
 
     // @Query(nativeQuery = true, value = "SELECT * FROM article WHERE provider_id = :providerId")
@@ -74,6 +91,10 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
     List<Article>findArticlesByStockThreshold(@Param("id") Integer id );
 
 
+    // (articleId, expiryDate) rows for every article with an expiry date
+    @Query("SELECT a.articleId, a.expiryDate FROM Article a WHERE a.expiryDate IS NOT NULL")
+    List<Object[]> findArticleExpiryDates();
+
     @Query("SELECT a FROM Article a WHERE a.expiryDate <= :expiryDate")
     List<Article> findArticlesByExpiryDateThreshold(@Param("expiryDate") LocalDate expiryDate);
 
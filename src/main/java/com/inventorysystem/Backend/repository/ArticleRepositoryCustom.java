@@ -0,0 +1,10 @@
+package com.inventorysystem.Backend.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ArticleRepositoryCustom {
+
+    // Guarded decrements for many articles in one JDBC batch; returns the articles that were short of stock
+    List<Long> decrementStocks(Map<Long, Integer> quantityByArticle);
+}
@@ -0,0 +1,48 @@
+package com.inventorysystem.Backend.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class ArticleRepositoryCustomImpl implements ArticleRepositoryCustom {
+
+    private static final String DECREMENT_STOCK =
+            "UPDATE article SET stock = stock - ? WHERE article_id = ? AND stock >= ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${inventory.detail.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public List<Long> decrementStocks(Map<Long, Integer> quantityByArticle) {
+        List<Map.Entry<Long, Integer>> decrements = new ArrayList<>(quantityByArticle.entrySet());
+        if (decrements.isEmpty()) {
+            return List.of();
+        }
+
+        int[][] updatedRows = jdbcTemplate.batchUpdate(DECREMENT_STOCK, decrements, batchSize, (statement, decrement) -> {
+            statement.setInt(1, decrement.getValue());
+            statement.setLong(2, decrement.getKey());
+            statement.setInt(3, decrement.getValue());
+        });
+
+        // Drivers that rewrite batches report SUCCESS_NO_INFO (-2), so only an explicit 0 is a shortage
+        List<Long> shortArticles = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updatedRows) {
+            for (int rows : batch) {
+                if (rows == 0) {
+                    shortArticles.add(decrements.get(index).getKey());
+                }
+                index++;
+            }
+        }
+        return shortArticles;
+    }
+}
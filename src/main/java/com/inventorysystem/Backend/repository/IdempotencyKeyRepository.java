@@ -0,0 +1,27 @@
+package com.inventorysystem.Backend.repository;
+
+import com.inventorysystem.Backend.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    @Query("SELECT k.resourceId FROM IdempotencyKey k WHERE k.idempotencyKey = :idempotencyKey")
+    Long findResourceId(@Param("idempotencyKey") String idempotencyKey);
+
+    // Plain INSERT (not a merge) so a concurrent request with the same key fails on the primary key
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO idempotency_key (idempotency_key, resource_id, created_at) " +
+            "VALUES (:idempotencyKey, :resourceId, NOW())")
+    void insertKey(@Param("idempotencyKey") String idempotencyKey, @Param("resourceId") Long resourceId);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
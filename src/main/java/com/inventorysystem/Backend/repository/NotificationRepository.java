@@ -3,9 +3,12 @@ package com.inventorysystem.Backend.repository;
 import com.inventorysystem.Backend.dto.Notification.NotificationDTO;
 import com.inventorysystem.Backend.model.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
@@ -38,6 +41,38 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("SELECT n FROM Notification n WHERE n.isRead = false AND n.name = :name")
     List<Notification> findUnreadNotificationsByName(@Param("name") String name);
 
+    // Set-based notification generation: each INSERT ... SELECT creates the notifications for every article that
+    // lacks one (anti-join on notification) in a single round trip. Messages match the ones built in Java before.
+
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO notification (message, article_id, name, is_read, date_time) " +
+            "SELECT CONCAT('Stock is getting low for item: ', a.name), a.article_id, a.name, false, NOW() " +
+            "FROM article a " +
+            "WHERE a.stock <= :threshold " +
+            "AND NOT EXISTS (SELECT 1 FROM notification n WHERE n.article_id = a.article_id AND n.is_read = false)")
+    int insertLowStockNotifications(@Param("threshold") Integer threshold);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO notification (message, article_id, name, is_read, date_time) " +
+            "SELECT CONCAT('Stock is getting low for item: ', a.name), a.article_id, a.name, false, NOW() " +
+            "FROM article a " +
+            "WHERE a.article_id IN (:articleIds) AND a.stock <= :threshold " +
+            "AND NOT EXISTS (SELECT 1 FROM notification n WHERE n.article_id = a.article_id AND n.is_read = false)")
+    int insertLowStockNotifications(@Param("articleIds") Collection<Long> articleIds, @Param("threshold") Integer threshold);
+
+    // An expiry notification is created once per article and expiry date, read or not
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO notification (message, article_id, name, is_read, date_time) " +
+            "SELECT e.message, e.article_id, e.name, false, NOW() " +
+            "FROM (SELECT CONCAT('Item ''', a.name, ''' is nearing expiry on ', a.expiry_date) AS message, " +
+            "a.article_id, a.name FROM article a WHERE a.article_id IN (:articleIds) AND a.expiry_date <= :expiryDate) e " +
+            "WHERE NOT EXISTS (SELECT 1 FROM notification n WHERE n.article_id = e.article_id AND n.message = e.message)")
+    int insertExpiryNotifications(@Param("articleIds") Collection<Long> articleIds, @Param("expiryDate") LocalDate expiryDate);
+
+    // Ids of every unread notification, for finding the ones inserted since the feed last looked
+    @Query("SELECT n.id FROM Notification n WHERE n.isRead = false")
+    List<Long> findUnreadIds();
+
     // Fetch unread notifications containing a specific keyword in their name
     List<Notification> findByIsReadFalseAndNameContaining(String name);
 }
@@ -2,6 +2,7 @@ package com.inventorysystem.Backend.repository;
 
 import com.inventorysystem.Backend.model.PurchaseDetail;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.query.Procedure;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -9,11 +10,19 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface PurchaseDetailRepository extends JpaRepository<PurchaseDetail, Long> {
+public interface PurchaseDetailRepository extends JpaRepository<PurchaseDetail, Long>, PurchaseDetailRepositoryCustom {
 
     @Procedure(procedureName = "Proc_get_all_purchase_details")
     List<PurchaseDetail> getAllPurchaseDetails(@Param("Ip_purchase_id") Long purchaseId);
 
+    // Purchase lines with their article, provider and category in one query: each row is [PurchaseDetail, Article, Provider, Category]
+    @Query("SELECT d, a, p, c FROM PurchaseDetail d " +
+            "LEFT JOIN Article a ON a.articleId = d.articleId " +
+            "LEFT JOIN Provider p ON p.providerId = a.providerId " +
+            "LEFT JOIN Category c ON c.categoryId = a.categoryId " +
+            "WHERE d.purchaseId = :purchaseId")
+    List<Object[]> findPurchaseLinesWithArticles(@Param("purchaseId") Long purchaseId);
+
     @Procedure(procedureName = "Proc_insert_purchase_detail")
     void createPurchaseDetail(
             @Param("Ip_purchase_id") Long purchaseId,
@@ -0,0 +1,11 @@
+package com.inventorysystem.Backend.repository;
+
+import com.inventorysystem.Backend.model.PurchaseDetail;
+
+import java.util.List;
+
+public interface PurchaseDetailRepositoryCustom {
+
+    // Inserts all the lines of a purchase through JDBC batches instead of one procedure call per line
+    void createPurchaseDetails(List<PurchaseDetail> purchaseDetails);
+}
@@ -0,0 +1,34 @@
+package com.inventorysystem.Backend.repository;
+
+import com.inventorysystem.Backend.model.PurchaseDetail;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+public class PurchaseDetailRepositoryCustomImpl implements PurchaseDetailRepositoryCustom {
+
+    private static final String INSERT_PURCHASE_DETAIL =
+            "INSERT INTO purchase_detail (purchase_id, article_id, article_quantity, price) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${inventory.detail.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void createPurchaseDetails(List<PurchaseDetail> purchaseDetails) {
+        if (purchaseDetails.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_PURCHASE_DETAIL, purchaseDetails, batchSize, (statement, purchaseDetail) -> {
+            statement.setLong(1, purchaseDetail.getPurchaseId());
+            statement.setLong(2, purchaseDetail.getArticleId());
+            statement.setInt(3, purchaseDetail.getArticleQuantity());
+            statement.setInt(4, purchaseDetail.getPrice());
+        });
+    }
+}
@@ -27,6 +27,13 @@ public interface PurchaseRepository extends JpaRepository<Purchase, Long> {
             @Param("Ip_user_id") Long userId
     );
 
+    // Purchase header with its provider and user in one query: each row is [Purchase, Provider, User]
+    @Query("SELECT pu, p, u FROM Purchase pu " +
+            "LEFT JOIN Provider p ON p.providerId = pu.providerId " +
+            "LEFT JOIN User u ON u.userId = pu.userId " +
+            "WHERE pu.purchaseId = :purchaseId")
+    List<Object[]> findPurchaseWithProviderAndUser(@Param("purchaseId") Long purchaseId);
+
     @Query(nativeQuery = true, value = "SELECT purch.* FROM purchase purch " +
             "JOIN provider prov ON purch.provider_id = prov.provider_id " +
             "JOIN user us ON purch.user_id = us.user_id " +
@@ -43,6 +50,29 @@ public interface PurchaseRepository extends JpaRepository<Purchase, Long> {
                     "OR us.username LIKE %:searchTerm%")
     Page<Purchase> findAllPurchases(@Param("searchTerm") String searchTerm, Pageable pageable);
 
+    // Keyset pagination: seeks on the primary key instead of skipping rows
+    List<Purchase> findByPurchaseIdLessThanOrderByPurchaseIdDesc(Long purchaseId, Pageable pageable);
+
+    @Query(nativeQuery = true, value = "SELECT purch.* FROM purchase purch " +
+            "JOIN provider prov ON purch.provider_id = prov.provider_id " +
+            "JOIN user us ON purch.user_id = us.user_id " +
+            "WHERE purch.purchase_id < :afterId " +
+            "AND (CAST(purch.purchase_id AS CHAR) = :searchTerm " +
+            "OR prov.name LIKE %:searchTerm% " +
+            "OR us.name LIKE %:searchTerm% " +
+            "OR us.username LIKE %:searchTerm%) " +
+            "ORDER BY purch.purchase_id DESC LIMIT :limit")
+    List<Purchase> findPurchasesAfter(@Param("searchTerm") String searchTerm, @Param("afterId") Long afterId, @Param("limit") Integer limit);
+
+    @Query(nativeQuery = true, value = "SELECT COUNT(purch.purchase_id) FROM purchase purch " +
+            "JOIN provider prov ON purch.provider_id = prov.provider_id " +
+            "JOIN user us ON purch.user_id = us.user_id " +
+            "WHERE CAST(purch.purchase_id AS CHAR) = :searchTerm " +
+            "OR prov.name LIKE %:searchTerm% " +
+            "OR us.name LIKE %:searchTerm% " +
+            "OR us.username LIKE %:searchTerm%")
+    Long countPurchases(@Param("searchTerm") String searchTerm);
+
     // Data summary queries
     @Query(nativeQuery = true, value = "SELECT COUNT(*) FROM purchase " +
         "WHERE createdAt >= DATE_SUB(CURDATE(), INTERVAL 1 WEEK)")
@@ -0,0 +1,24 @@
+package com.inventorysystem.Backend.repository;
+
+import com.inventorysystem.Backend.model.QueuedSaleOutcome;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface QueuedSaleOutcomeRepository extends JpaRepository<QueuedSaleOutcome, String>, QueuedSaleOutcomeRepositoryCustom {
+
+    // Keys among the given ones that already have an outcome, i.e. sales applied or rejected before a restart
+    @Query("SELECT o.outcomeKey FROM QueuedSaleOutcome o WHERE o.outcomeKey IN :outcomeKeys")
+    List<String> findRecordedKeys(@Param("outcomeKeys") Collection<String> outcomeKeys);
+
+    @Modifying
+    @Query("DELETE FROM QueuedSaleOutcome o WHERE o.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
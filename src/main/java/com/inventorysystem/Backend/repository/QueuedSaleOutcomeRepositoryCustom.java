@@ -0,0 +1,11 @@
+package com.inventorysystem.Backend.repository;
+
+import com.inventorysystem.Backend.model.QueuedSaleOutcome;
+
+import java.util.List;
+
+public interface QueuedSaleOutcomeRepositoryCustom {
+
+    // Plain INSERTs in JDBC batches; a save() per outcome would read each assigned key before writing it
+    void insertOutcomes(List<QueuedSaleOutcome> outcomes);
+}
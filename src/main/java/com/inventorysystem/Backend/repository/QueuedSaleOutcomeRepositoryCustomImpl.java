@@ -0,0 +1,41 @@
+package com.inventorysystem.Backend.repository;
+
+import com.inventorysystem.Backend.model.QueuedSaleOutcome;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+public class QueuedSaleOutcomeRepositoryCustomImpl implements QueuedSaleOutcomeRepositoryCustom {
+
+    private static final String INSERT_OUTCOME =
+            "INSERT INTO queued_sale_outcome (outcome_key, status, sale_id, reason, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${inventory.detail.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void insertOutcomes(List<QueuedSaleOutcome> outcomes) {
+        if (outcomes.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_OUTCOME, outcomes, batchSize, (statement, outcome) -> {
+            statement.setString(1, outcome.getOutcomeKey());
+            statement.setString(2, outcome.getStatus());
+            if (outcome.getSaleId() != null) {
+                statement.setLong(3, outcome.getSaleId());
+            } else {
+                statement.setNull(3, Types.BIGINT);
+            }
+            statement.setString(4, outcome.getReason());
+            statement.setTimestamp(5, Timestamp.valueOf(outcome.getCreatedAt()));
+        });
+    }
+}
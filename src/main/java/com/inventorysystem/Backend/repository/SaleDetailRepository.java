@@ -2,6 +2,7 @@ package com.inventorysystem.Backend.repository;
 
 import com.inventorysystem.Backend.model.SaleDetail;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.query.Procedure;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -9,11 +10,19 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface SaleDetailRepository extends JpaRepository<SaleDetail, Long> {
+public interface SaleDetailRepository extends JpaRepository<SaleDetail, Long>, SaleDetailRepositoryCustom {
 
     @Procedure(procedureName = "Proc_get_all_sale_details")
     List<SaleDetail> getAllSaleDetails(@Param("Ip_sale_id") Long saleId);
 
+    // Sale lines with their article, provider and category in one query: each row is [SaleDetail, Article, Provider, Category]
+    @Query("SELECT d, a, p, c FROM SaleDetail d " +
+            "LEFT JOIN Article a ON a.articleId = d.articleId " +
+            "LEFT JOIN Provider p ON p.providerId = a.providerId " +
+            "LEFT JOIN Category c ON c.categoryId = a.categoryId " +
+            "WHERE d.saleId = :saleId")
+    List<Object[]> findSaleLinesWithArticles(@Param("saleId") Long saleId);
+
     @Procedure(procedureName = "Proc_insert_sale_detail")
     void createSaleDetail(
             @Param("Ip_sale_id") Long saleId,
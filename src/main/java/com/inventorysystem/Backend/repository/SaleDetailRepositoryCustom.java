@@ -0,0 +1,11 @@
+package com.inventorysystem.Backend.repository;
+
+import com.inventorysystem.Backend.model.SaleDetail;
+
+import java.util.List;
+
+public interface SaleDetailRepositoryCustom {
+
+    // Inserts all the lines of a sale through JDBC batches instead of one procedure call per line
+    void createSaleDetails(List<SaleDetail> saleDetails);
+}
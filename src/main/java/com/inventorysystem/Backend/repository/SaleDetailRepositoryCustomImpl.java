@@ -0,0 +1,34 @@
+package com.inventorysystem.Backend.repository;
+
+import com.inventorysystem.Backend.model.SaleDetail;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+public class SaleDetailRepositoryCustomImpl implements SaleDetailRepositoryCustom {
+
+    private static final String INSERT_SALE_DETAIL =
+            "INSERT INTO sale_detail (sale_id, article_id, article_quantity, price) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${inventory.detail.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void createSaleDetails(List<SaleDetail> saleDetails) {
+        if (saleDetails.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SALE_DETAIL, saleDetails, batchSize, (statement, saleDetail) -> {
+            statement.setLong(1, saleDetail.getSaleId());
+            statement.setLong(2, saleDetail.getArticleId());
+            statement.setInt(3, saleDetail.getArticleQuantity());
+            statement.setInt(4, saleDetail.getPrice());
+        });
+    }
+}
@@ -1,7 +1,6 @@
 package com.inventorysystem.Backend.repository;
 
 import com.inventorysystem.Backend.model.Sale;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -9,10 +8,11 @@ import org.springframework.data.jpa.repository.query.Procedure;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface SaleRepository extends JpaRepository<Sale, Long> {
+public interface SaleRepository extends JpaRepository<Sale, Long>, SaleRepositoryCustom {
 
     @Procedure(procedureName = "Proc_get_all_sales")
     List<Sale> getAllSales();
@@ -27,23 +27,27 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
             @Param("Ip_user_id") Long userId
     );
 
-    @Query(nativeQuery = true, value = "SELECT sl.* FROM sale sl " +
-            "JOIN customer cus ON sl.customer_id = cus.customer_id " +
-            "JOIN user us ON sl.user_id = us.user_id " +
-            "WHERE CAST(sl.sale_id AS CHAR) = :searchTerm " +
-            "OR cus.name LIKE %:searchTerm% " +
-            "OR cus.document LIKE %:searchTerm% " +
-            "OR us.name LIKE %:searchTerm% " +
-            "OR us.username LIKE %:searchTerm%",
-            countQuery = "SELECT COUNT(sl.sale_id) FROM sale sl " +
-                    "JOIN customer cus ON sl.customer_id = cus.customer_id " +
-                    "JOIN user us ON sl.user_id = us.user_id " +
-                    "WHERE CAST(sl.sale_id AS CHAR) = :searchTerm " +
-                    "OR cus.name LIKE %:searchTerm% " +
-                    "OR cus.document LIKE %:searchTerm% " +
-                    "OR us.name LIKE %:searchTerm% " +
-                    "OR us.username LIKE %:searchTerm%")
-    Page<Sale> findAllSales(@Param("searchTerm") String searchTerm, Pageable pageable);
+    // Sale header with its customer and user in one query: each row is [Sale, Customer, User]
+    @Query("SELECT s, c, u FROM Sale s " +
+            "LEFT JOIN Customer c ON c.customerId = s.customerId " +
+            "LEFT JOIN User u ON u.userId = s.userId " +
+            "WHERE s.saleId = :saleId")
+    List<Object[]> findSaleWithCustomerAndUser(@Param("saleId") Long saleId);
+
+    // Keyset pagination: seeks on the primary key instead of skipping rows
+    List<Sale> findBySaleIdLessThanOrderBySaleIdDesc(Long saleId, Pageable pageable);
+
+    // Number of sales searchSaleIds can return, reading only the indexes
+    @Query(nativeQuery = true, value = "SELECT COUNT(*) FROM (" +
+            "SELECT sale_id FROM sale WHERE sale_id = :saleId " +
+            "UNION SELECT sale_id FROM sale WHERE customer_id IN (:customerIds) " +
+            "UNION SELECT sale_id FROM sale WHERE user_id IN (:userIds)" +
+            ") matches")
+    Long countSales(
+            @Param("saleId") Long saleId,
+            @Param("customerIds") Collection<Long> customerIds,
+            @Param("userIds") Collection<Long> userIds
+    );
 
     // Data summary queries
     @Query(nativeQuery = true, value = "SELECT COUNT(*) FROM sale " +
@@ -0,0 +1,10 @@
+package com.inventorysystem.Backend.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface SaleRepositoryCustom {
+
+    // Ids of the newest sales below afterId with the given sale id or one of the customers or users, newest first
+    List<Long> searchSaleIds(Long saleId, Collection<Long> customerIds, Collection<Long> userIds, long afterId, int limit);
+}
@@ -0,0 +1,55 @@
+package com.inventorysystem.Backend.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+public class SaleRepositoryCustomImpl implements SaleRepositoryCustom {
+
+    private static final String SALE_ID_SEEK = "(SELECT sale_id FROM sale WHERE sale_id = ? AND sale_id < ?)";
+    private static final String CUSTOMER_SEEK =
+            "(SELECT sale_id FROM sale WHERE customer_id = ? AND sale_id < ? ORDER BY sale_id DESC LIMIT ?)";
+    private static final String USER_SEEK =
+            "(SELECT sale_id FROM sale WHERE user_id = ? AND sale_id < ? ORDER BY sale_id DESC LIMIT ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // One seek per party: each is a backward range scan of the customer_id or user_id index, which ends with the
+    // primary key, and stops after limit ids. The branches are merged here, so the database never sorts the union
+    @Override
+    public List<Long> searchSaleIds(Long saleId, Collection<Long> customerIds, Collection<Long> userIds, long afterId, int limit) {
+        List<String> seeks = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (saleId != null) {
+            seeks.add(SALE_ID_SEEK);
+            args.add(saleId);
+            args.add(afterId);
+        }
+        for (Long customerId : customerIds) {
+            seeks.add(CUSTOMER_SEEK);
+            args.add(customerId);
+            args.add(afterId);
+            args.add(limit);
+        }
+        for (Long userId : userIds) {
+            seeks.add(USER_SEEK);
+            args.add(userId);
+            args.add(afterId);
+            args.add(limit);
+        }
+        if (seeks.isEmpty()) {
+            return List.of();
+        }
+
+        // A sale found through both its customer and its user is kept once
+        TreeSet<Long> saleIds = new TreeSet<>(Comparator.reverseOrder());
+        saleIds.addAll(jdbcTemplate.queryForList(String.join(" UNION ALL ", seeks), Long.class, args.toArray()));
+        return saleIds.stream().limit(limit).toList();
+    }
+}
@@ -0,0 +1,322 @@
+package com.inventorysystem.Backend.search;
+
+import com.inventorysystem.Backend.repository.ArticleRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory search over article names and brands, replacing the {@code LIKE %term%} queries on the article table.
+ * <p>
+ * Matches are the same as before (the article id, or a name or brand containing the term, ignoring case) but they
+ * come from a trigram index and are ranked: id, exact name, name prefix, name word prefix, name substring, then
+ * the same for the brand, newest article first within a rank. Callers page the ranked ids and load only that page.
+ * <p>
+ * Names and brands repeat across a catalog, so each field keeps its distinct values with the articles holding them
+ * and the trigram index is over those values: a value shared by thousands of articles is indexed, counted and
+ * compared once per query.
+ */
+@Component
+public class ArticleSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleSearchIndex.class);
+
+    // Field ranks (see rankField) are offset so every name match comes before any brand match
+    private static final int RANK_ID = 0;
+    private static final int RANK_NAME = 1;
+    private static final int RANK_BRAND = 5;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    private final FieldIndex names = new FieldIndex();
+    private final FieldIndex brands = new FieldIndex();
+    private final Map<Long, IndexedArticle> articles = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    void build() {
+        articleRepository.findAll().forEach(article ->
+                put(article.getArticleId(), article.getName(), article.getBrand(), article.getProviderId()));
+        logger.info("Article search index built with {} articles, {} distinct names and {} distinct brands",
+                size(), names.values.size(), brands.values.size());
+    }
+
+    public void put(Long articleId, String name, String brand, Long providerId) {
+        lock.writeLock().lock();
+        try {
+            removeArticle(articleId);
+            articles.put(articleId, new IndexedArticle(
+                    names.add(TrigramIndex.normalize(name), articleId),
+                    brands.add(TrigramIndex.normalize(brand), articleId),
+                    providerId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the articles matching {@code term}, best match first, optionally limited to one provider.
+     */
+    public List<Long> search(String term, Long providerId) {
+        String normalizedTerm = TrigramIndex.normalize(term);
+        Map<Long, Integer> ranks = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            collectMatches(names, normalizedTerm, RANK_NAME, providerId, ranks);
+            collectMatches(brands, normalizedTerm, RANK_BRAND, providerId, ranks);
+
+            Long termAsId = parseId(normalizedTerm);
+            IndexedArticle articleWithId = termAsId == null ? null : articles.get(termAsId);
+            if (articleWithId != null && matchesProvider(articleWithId, providerId)) {
+                ranks.put(termAsId, RANK_ID);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> rankedIds = new ArrayList<>(ranks.keySet());
+        rankedIds.sort(Comparator.<Long>comparingInt(ranks::get).thenComparing(Comparator.reverseOrder()));
+        return rankedIds;
+    }
+
+    /**
+     * Typo-tolerant variant of {@link #search}: returns the articles whose name or brand, or a run of consecutive
+     * words in them, is within a small Damerau-Levenshtein distance of {@code term} (1 for terms up to four
+     * characters, 2 above), closest first.
+     * <p>
+     * One edit destroys at most four of the term's trigrams (a transposition touches every trigram covering either
+     * character), so a match within distance k keeps all but 4k of them. Only values sharing that many trigrams
+     * with the term are compared, which avoids scanning the whole catalog. The bound is loose for short terms, so
+     * the comparison first drops every value and word window whose length is more than k away from the term's.
+     * Terms shorter than a trigram fall back to the exact search.
+     */
+    public List<Long> fuzzySearch(String term, Long providerId) {
+        String normalizedTerm = TrigramIndex.normalize(term);
+        if (normalizedTerm.length() < 3) {
+            return search(normalizedTerm, providerId);
+        }
+
+        int maxDistance = normalizedTerm.length() <= 4 ? 1 : 2;
+        int termTrigrams = new HashSet<>(TrigramIndex.trigrams(normalizedTerm)).size();
+        int requiredTrigrams = Math.max(termTrigrams - 4 * maxDistance, 1);
+        int termWords = normalizedTerm.split("\\s+").length;
+
+        Map<Long, Integer> distances = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            collectFuzzyMatches(names, normalizedTerm, termWords, requiredTrigrams, maxDistance, providerId, distances);
+            collectFuzzyMatches(brands, normalizedTerm, termWords, requiredTrigrams, maxDistance, providerId, distances);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Closest first, newest first within a distance
+        List<List<Long>> idsByDistance = new ArrayList<>(maxDistance + 1);
+        for (int distance = 0; distance <= maxDistance; distance++) {
+            idsByDistance.add(new ArrayList<>());
+        }
+        distances.forEach((articleId, distance) -> idsByDistance.get(distance).add(articleId));
+
+        List<Long> rankedIds = new ArrayList<>(distances.size());
+        for (List<Long> ids : idsByDistance) {
+            ids.sort(Comparator.reverseOrder());
+            rankedIds.addAll(ids);
+        }
+        return rankedIds;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return articles.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeArticle(Long articleId) {
+        IndexedArticle previous = articles.remove(articleId);
+        if (previous != null) {
+            names.remove(previous.name, articleId);
+            brands.remove(previous.brand, articleId);
+        }
+    }
+
+    // Keeps the best rank of every article with a value containing the term
+    private void collectMatches(FieldIndex field, String term, int fieldRank, Long providerId, Map<Long, Integer> ranks) {
+        for (Long valueId : field.index.search(term)) {
+            int rank = fieldRank + rankField(field.values.get(valueId), term);
+            for (Long articleId : field.articlesByValue.get(valueId)) {
+                if (matchesProvider(articles.get(articleId), providerId)) {
+                    ranks.merge(articleId, rank, Math::min);
+                }
+            }
+        }
+    }
+
+    // Keeps the smallest distance of every article with a value close enough to the term. Value ids are dense, so
+    // the shared trigrams are counted in an array and a value becomes a candidate when it reaches the bound
+    private void collectFuzzyMatches(FieldIndex field, String term, int termWords, int requiredTrigrams,
+                                     int maxDistance, Long providerId, Map<Long, Integer> distances) {
+        int[] sharedTrigrams = new int[field.maxValueId() + 1];
+        List<Integer> candidates = new ArrayList<>();
+        field.index.forEachSharedTrigram(term, valueId -> {
+            if (++sharedTrigrams[(int) valueId] == requiredTrigrams) {
+                candidates.add((int) valueId);
+            }
+        });
+
+        for (int valueId : candidates) {
+            int distance = fieldDistance(field.values.get((long) valueId), term, termWords, maxDistance);
+            if (distance > maxDistance) {
+                continue;
+            }
+            for (Long articleId : field.articlesByValue.get((long) valueId)) {
+                if (matchesProvider(articles.get(articleId), providerId)) {
+                    distances.merge(articleId, distance, Math::min);
+                }
+            }
+        }
+    }
+
+    private static boolean matchesProvider(IndexedArticle article, Long providerId) {
+        return providerId == null || Objects.equals(article.providerId, providerId);
+    }
+
+    // 0 exact, 1 prefix, 2 prefix of a later word, 3 anywhere else, -1 no match
+    private static int rankField(String field, String term) {
+        if (field.equals(term)) {
+            return 0;
+        }
+        if (field.startsWith(term)) {
+            return 1;
+        }
+        if (field.contains(" " + term)) {
+            return 2;
+        }
+        return field.contains(term) ? 3 : -1;
+    }
+
+    // Smallest distance between the term and the whole field or any window of as many words as the term has.
+    // A window can only match when its length is within maxDistance of the term's, so the others are never built
+    private static int fieldDistance(String field, String term, int termWords, int maxDistance) {
+        int best = EditDistance.bounded(field, term, maxDistance);
+        if (best == 0 || field.length() < term.length() - maxDistance) {
+            return best;
+        }
+
+        int[] wordStarts = new int[field.length() / 2 + 1];
+        int[] wordEnds = new int[wordStarts.length];
+        int words = 0;
+        for (int i = 0; i < field.length(); i++) {
+            if (Character.isWhitespace(field.charAt(i))) {
+                continue;
+            }
+            if (i == 0 || Character.isWhitespace(field.charAt(i - 1))) {
+                wordStarts[words] = i;
+            }
+            if (i + 1 == field.length() || Character.isWhitespace(field.charAt(i + 1))) {
+                wordEnds[words++] = i + 1;
+            }
+        }
+
+        for (int start = 0; best > 0 && start + termWords <= words; start++) {
+            // Words of the window joined by single spaces
+            int windowLength = termWords - 1;
+            for (int word = start; word < start + termWords; word++) {
+                windowLength += wordEnds[word] - wordStarts[word];
+            }
+            if (Math.abs(windowLength - term.length()) > maxDistance) {
+                continue;
+            }
+
+            StringBuilder window = new StringBuilder(windowLength);
+            for (int word = start; word < start + termWords; word++) {
+                if (word > start) {
+                    window.append(' ');
+                }
+                window.append(field, wordStarts[word], wordEnds[word]);
+            }
+            best = Math.min(best, EditDistance.bounded(window.toString(), term, maxDistance));
+        }
+        return best;
+    }
+
+    private static Long parseId(String term) {
+        try {
+            return Long.valueOf(term);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Distinct values of one field, each indexed once and mapped to the articles holding it. Ids of dropped values
+    // are reused, so they stay dense
+    private static final class FieldIndex {
+        private final TrigramIndex index = new TrigramIndex();
+        private final Map<String, Long> valueIds = new HashMap<>();
+        private final Map<Long, String> values = new HashMap<>();
+        private final Map<Long, Set<Long>> articlesByValue = new HashMap<>();
+        private final Deque<Long> freeValueIds = new ArrayDeque<>();
+        private long nextValueId = 1;
+
+        // Returns the shared instance of the value, so articles with the same value keep one copy of it
+        private String add(String value, Long articleId) {
+            Long valueId = valueIds.get(value);
+            if (valueId == null) {
+                valueId = freeValueIds.isEmpty() ? nextValueId++ : freeValueIds.pop();
+                valueIds.put(value, valueId);
+                values.put(valueId, value);
+                index.put(valueId, value);
+            }
+            articlesByValue.computeIfAbsent(valueId, id -> new HashSet<>()).add(articleId);
+            return values.get(valueId);
+        }
+
+        private void remove(String value, Long articleId) {
+            Long valueId = valueIds.get(value);
+            Set<Long> holders = articlesByValue.get(valueId);
+            holders.remove(articleId);
+            if (holders.isEmpty()) {
+                articlesByValue.remove(valueId);
+                values.remove(valueId);
+                valueIds.remove(value);
+                index.remove(valueId);
+                freeValueIds.push(valueId);
+            }
+        }
+
+        private int maxValueId() {
+            return (int) (nextValueId - 1);
+        }
+    }
+
+    private static final class IndexedArticle {
+        private final String name;
+        private final String brand;
+        private final Long providerId;
+
+        private IndexedArticle(String name, String brand, Long providerId) {
+            this.name = name;
+            this.brand = brand;
+            this.providerId = providerId;
+        }
+    }
+}
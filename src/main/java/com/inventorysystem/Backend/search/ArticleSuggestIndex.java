@@ -0,0 +1,99 @@
+package com.inventorysystem.Backend.search;
+
+import com.inventorysystem.Backend.repository.ArticleRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Type-ahead suggestions over article names and brands, answered from memory.
+ * <p>
+ * Distinct normalized names and brands are kept in a sorted map, so the suggestions for a prefix are the
+ * contiguous key range starting at it and a lookup is a single seek plus {@code limit} steps. Each term counts
+ * the articles using it and disappears with the last one. Reads are lock-free; writes are serialized.
+ */
+@Component
+public class ArticleSuggestIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleSuggestIndex.class);
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    private final ConcurrentSkipListMap<String, Term> terms = new ConcurrentSkipListMap<>();
+    private final Map<Long, String[]> termsByArticle = new HashMap<>();
+
+    @PostConstruct
+    void build() {
+        articleRepository.findAll().forEach(article ->
+                put(article.getArticleId(), article.getName(), article.getBrand()));
+        logger.info("Article suggest index built with {} terms", terms.size());
+    }
+
+    public synchronized void put(Long articleId, String name, String brand) {
+        remove(articleId);
+        String[] articleTerms = {name, brand};
+        for (String term : articleTerms) {
+            String key = TrigramIndex.normalize(term);
+            if (!key.isEmpty()) {
+                terms.compute(key, (ignored, existing) ->
+                        existing == null ? new Term(term.trim(), 1) : new Term(existing.display, existing.articles + 1));
+            }
+        }
+        termsByArticle.put(articleId, articleTerms);
+    }
+
+    // Releases the terms the article held before
+    private void remove(Long articleId) {
+        String[] articleTerms = termsByArticle.remove(articleId);
+        if (articleTerms == null) {
+            return;
+        }
+        for (String term : articleTerms) {
+            String key = TrigramIndex.normalize(term);
+            if (!key.isEmpty()) {
+                terms.computeIfPresent(key, (ignored, existing) ->
+                        existing.articles > 1 ? new Term(existing.display, existing.articles - 1) : null);
+            }
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} names and brands starting with {@code prefix}, ignoring case, in alphabetical order.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String normalizedPrefix = TrigramIndex.normalize(prefix);
+        List<String> suggestions = new ArrayList<>(limit);
+        if (normalizedPrefix.isEmpty()) {
+            return suggestions;
+        }
+
+        NavigableMap<String, Term> range = terms.tailMap(normalizedPrefix, true);
+        for (Map.Entry<String, Term> entry : range.entrySet()) {
+            if (suggestions.size() >= limit || !entry.getKey().startsWith(normalizedPrefix)) {
+                break;
+            }
+            suggestions.add(entry.getValue().display);
+        }
+        return suggestions;
+    }
+
+    private static final class Term {
+        private final String display;
+        private final int articles;
+
+        private Term(String display, int articles) {
+            this.display = display;
+            this.articles = articles;
+        }
+    }
+}
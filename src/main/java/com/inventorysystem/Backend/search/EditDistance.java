@@ -0,0 +1,59 @@
+package com.inventorysystem.Backend.search;
+
+/**
+ * Bounded Damerau-Levenshtein distance (optimal string alignment: insertions, deletions, substitutions and
+ * transpositions of adjacent characters). Computation stops as soon as the distance is known to exceed the bound,
+ * so comparing against a non-match costs far less than the full table.
+ */
+public final class EditDistance {
+
+    private EditDistance() {
+    }
+
+    /**
+     * Returns the distance between {@code source} and {@code target}, or {@code maxDistance + 1} when it is larger.
+     */
+    public static int bounded(String source, String target, int maxDistance) {
+        int sourceLength = source.length();
+        int targetLength = target.length();
+        if (Math.abs(sourceLength - targetLength) > maxDistance) {
+            return maxDistance + 1;
+        }
+
+        int[] previousPrevious = new int[targetLength + 1];
+        int[] previous = new int[targetLength + 1];
+        int[] current = new int[targetLength + 1];
+        for (int j = 0; j <= targetLength; j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= sourceLength; i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            char sourceChar = source.charAt(i - 1);
+
+            for (int j = 1; j <= targetLength; j++) {
+                char targetChar = target.charAt(j - 1);
+                int cost = sourceChar == targetChar ? 0 : 1;
+                int distance = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && sourceChar == target.charAt(j - 2) && source.charAt(i - 2) == targetChar) {
+                    distance = Math.min(distance, previousPrevious[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMinimum = Math.min(rowMinimum, distance);
+            }
+
+            // Every later row is at least this row's minimum
+            if (rowMinimum > maxDistance) {
+                return maxDistance + 1;
+            }
+
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+
+        return Math.min(previous[targetLength], maxDistance + 1);
+    }
+}
@@ -0,0 +1,57 @@
+package com.inventorysystem.Backend.search;
+
+import com.inventorysystem.Backend.repository.CustomerRepository;
+import com.inventorysystem.Backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Resolves a sale search term to the customers (name, document) and users (name, username) it matches.
+ * Sales are then found through the customer_id and user_id indexes instead of joining and scanning the
+ * sale table with LIKE. Only the parties are indexed here, so the index stays small however many sales
+ * exist; it is kept current by the customer and user write paths once they commit. Customers and users
+ * are never deleted, so entries are only added or replaced.
+ */
+@Component
+public class SaleSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SaleSearchIndex.class);
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final TrigramIndex customers = new TrigramIndex();
+    private final TrigramIndex users = new TrigramIndex();
+
+    @PostConstruct
+    void build() {
+        customerRepository.findAll().forEach(customer ->
+                putCustomer(customer.getCustomerId(), customer.getName(), customer.getDocument()));
+        userRepository.findAll().forEach(user -> putUser(user.getUserId(), user.getName(), user.getUsername()));
+        logger.info("Sale search index built with {} customers and {} users", customers.size(), users.size());
+    }
+
+    public void putCustomer(Long customerId, String name, String document) {
+        customers.put(customerId, name, document);
+    }
+
+    public void putUser(Long userId, String name, String username) {
+        users.put(userId, name, username);
+    }
+
+    public Set<Long> findCustomerIds(String term) {
+        return customers.search(term);
+    }
+
+    public Set<Long> findUserIds(String term) {
+        return users.search(term);
+    }
+}
@@ -0,0 +1,187 @@
+package com.inventorysystem.Backend.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+/**
+ * In-memory trigram inverted index answering case-insensitive substring queries, the same matches a
+ * {@code LIKE %term%} would return, without scanning every row.
+ * <p>
+ * Each document is a set of text fields stored lower-cased and joined with a separator that never appears
+ * in a query, so a match cannot span two fields. Queries of three or more characters intersect the posting
+ * lists of their trigrams and then confirm the candidates with {@code contains}; shorter queries fall back to
+ * a scan of the stored texts.
+ */
+public class TrigramIndex {
+
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private final Map<Long, String> documents = new HashMap<>();
+    private final Map<Long, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Long id, String... fields) {
+        String text = normalizeFields(fields);
+
+        lock.writeLock().lock();
+        try {
+            String previous = documents.put(id, text);
+            if (previous != null) {
+                removePostings(id, previous);
+            }
+            for (long trigram : trigrams(text)) {
+                postings.computeIfAbsent(trigram, key -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            String previous = documents.remove(id);
+            if (previous != null) {
+                removePostings(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of every document with a field containing {@code term}, ignoring case.
+     */
+    public Set<Long> search(String term) {
+        String normalizedTerm = normalize(term);
+        if (normalizedTerm.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (normalizedTerm.length() < 3) {
+                return scan(normalizedTerm);
+            }
+
+            Set<Long> candidates = candidates(normalizedTerm);
+            Set<Long> matches = new HashSet<>();
+            for (Long id : candidates) {
+                if (documents.get(id).contains(normalizedTerm)) {
+                    matches.add(id);
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calls {@code action} with the id of every document containing each distinct trigram of {@code term}, so a
+     * document is visited once per trigram it shares with the term. Used to prefilter candidates for approximate
+     * matching without building a map of counts.
+     */
+    public void forEachSharedTrigram(String term, LongConsumer action) {
+        lock.readLock().lock();
+        try {
+            for (long trigram : new HashSet<>(trigrams(normalize(term)))) {
+                Set<Long> posting = postings.get(trigram);
+                if (posting != null) {
+                    for (Long id : posting) {
+                        action.accept(id);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static List<Long> trigrams(String text) {
+        List<Long> trigrams = new ArrayList<>(Math.max(text.length() - 2, 0));
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            char first = text.charAt(i);
+            char second = text.charAt(i + 1);
+            char third = text.charAt(i + 2);
+            if (first == FIELD_SEPARATOR || second == FIELD_SEPARATOR || third == FIELD_SEPARATOR) {
+                continue;
+            }
+            trigrams.add(((long) first << 32) | ((long) second << 16) | third);
+        }
+        return trigrams;
+    }
+
+    private Set<Long> candidates(String normalizedTerm) {
+        // Intersect starting from the rarest trigram to keep the working set small
+        List<Set<Long>> lists = new ArrayList<>();
+        for (long trigram : new HashSet<>(trigrams(normalizedTerm))) {
+            Set<Long> posting = postings.get(trigram);
+            if (posting == null) {
+                return new HashSet<>();
+            }
+            lists.add(posting);
+        }
+        lists.sort((left, right) -> Integer.compare(left.size(), right.size()));
+
+        Set<Long> candidates = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(lists.get(i));
+        }
+        return candidates;
+    }
+
+    private Set<Long> scan(String normalizedTerm) {
+        Set<Long> matches = new HashSet<>();
+        documents.forEach((id, text) -> {
+            if (text.contains(normalizedTerm)) {
+                matches.add(id);
+            }
+        });
+        return matches;
+    }
+
+    private void removePostings(Long id, String text) {
+        for (long trigram : trigrams(text)) {
+            Set<Long> posting = postings.get(trigram);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    private static String normalizeFields(String... fields) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                text.append(FIELD_SEPARATOR);
+            }
+            text.append(normalize(fields[i]));
+        }
+        return text.toString();
+    }
+}
@@ -1,18 +1,25 @@
 package com.inventorysystem.Backend.service;
 
+import com.inventorysystem.Backend.dto.article.ArticleCacheStatsDTO;
 import com.inventorysystem.Backend.dto.article.ArticleCreationDTO;
 import com.inventorysystem.Backend.dto.article.ArticleDTO;
 import com.inventorysystem.Backend.dto.article.ArticleUpdateDTO;
 import com.inventorysystem.Backend.dto.article.ArticlesPageDTO;
 
+import java.util.List;
+
 public interface ArticleService {
 
     ArticleDTO createArticle(ArticleCreationDTO article);
 
-    ArticlesPageDTO getAllArticles(Long providerId, String criteria, Integer page, Integer pageSize);
+    ArticlesPageDTO getAllArticles(Long providerId, String criteria, boolean fuzzy, Integer page, Integer pageSize);
+
+    List<String> suggestArticles(String prefix, int limit);
 
     ArticleDTO getArticleById(Long id);
 
+    ArticleCacheStatsDTO getArticleCacheStats();
+
     ArticleDTO updateArticle(Long articleId, ArticleUpdateDTO articleData);
 
 
@@ -0,0 +1,16 @@
+package com.inventorysystem.Backend.service;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    String SCOPE_SALE = "sale";
+    String SCOPE_PURCHASE = "purchase";
+
+    /**
+     * Runs {@code create} at most once per scope and key. A repeated key returns the original response,
+     * from memory when possible, otherwise by loading the stored resource id through {@code replay}.
+     */
+    <T> T execute(String scope, String key, Supplier<T> create, Function<T, Long> resourceIdOf, Function<Long, T> replay);
+}
@@ -1,6 +1,8 @@
 package com.inventorysystem.Backend.service;
 
 import com.inventorysystem.Backend.dto.Notification.NotificationDTO;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
 import java.util.List;
 
 public interface NotificationService {
@@ -9,4 +11,6 @@ public interface NotificationService {
 
     List<NotificationDTO> getUnreadExpiryNotifications();
     void markAsRead(String name); // Marks notification by name (expiry)
+
+    ResponseBodyEmitter streamNotifications(String lastEventId); // Resumes after lastEventId when it is still buffered
 }
@@ -9,7 +9,11 @@ public interface PurchaseService {
 
     PurchaseDetailDTO createPurchase(PurchaseCreationDTO purchase);
 
+    PurchaseDetailDTO createPurchase(PurchaseCreationDTO purchase, String idempotencyKey);
+
     PurchasesPageDTO getAllPurchases(String criteria, Integer page, Integer pageSize);
 
+    PurchasesPageDTO getPurchasesAfter(String criteria, String after, Integer pageSize, boolean includeTotal);
+
     PurchaseDetailDTO getPurchaseById(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.inventorysystem.Backend.service;
+
+import com.inventorysystem.Backend.dto.sale.SaleAcceptedDTO;
+import com.inventorysystem.Backend.dto.sale.SaleCreationDTO;
+
+public interface SaleGroupCommitService {
+
+    // Validates the sale, appends it to the local write-ahead log and returns once it is durable there
+    SaleAcceptedDTO enqueueSale(SaleCreationDTO sale);
+
+    // Status of a queued sale: QUEUED, or APPLIED with its sale id, or REJECTED with the reason
+    SaleAcceptedDTO getQueuedSale(Long sequence);
+}
@@ -0,0 +1,11 @@
+package com.inventorysystem.Backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface SaleIngestionService {
+
+    // Reads sale tickets (NDJSON or a JSON array) from the payload and writes one NDJSON result line per ticket
+    void ingestSales(InputStream payload, OutputStream results) throws IOException;
+}
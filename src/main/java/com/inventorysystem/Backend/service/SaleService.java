@@ -1,14 +1,24 @@
 package com.inventorysystem.Backend.service;
 
+import com.inventorysystem.Backend.dto.sale.SaleBatchResultDTO;
 import com.inventorysystem.Backend.dto.sale.SaleCreationDTO;
 import com.inventorysystem.Backend.dto.sale.SaleDetailDTO;
 import com.inventorysystem.Backend.dto.sale.SalesPageDTO;
 
+import java.util.List;
+
 public interface SaleService {
 
     SaleDetailDTO createSale(SaleCreationDTO sale);
 
-    SalesPageDTO getAllSales(String criteria, Integer page, Integer pageSize);
+    SaleDetailDTO createSale(SaleCreationDTO sale, String idempotencyKey);
+
+    // Creates many sales in the caller's transaction; a sale that cannot be created is reported, not thrown
+    List<SaleBatchResultDTO> createSales(List<SaleCreationDTO> sales);
+
+    SalesPageDTO getAllSales(String criteria, Integer page, Integer pageSize, boolean includeTotal);
+
+    SalesPageDTO getSalesAfter(String criteria, String after, Integer pageSize, boolean includeTotal);
 
     SaleDetailDTO getSaleById(Long id);
 }
@@ -0,0 +1,168 @@
+package com.inventorysystem.Backend.service.imp;
+
+import com.inventorysystem.Backend.repository.ArticleRepository;
+import com.inventorysystem.Backend.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Article expiry dates bucketed by day, raising "nearing expiry" notifications when an article comes within
+ * notification.expiry.days-ahead of its expiry date.
+ * <p>
+ * Dates are loaded once at startup and kept current by article writes. Instead of querying for expiring articles on a
+ * timer, one task is scheduled for the day the earliest pending bucket crosses the threshold; it notifies that
+ * bucket's articles in one statement and schedules the next crossing, so nothing runs between crossings. Expiry dates
+ * changed directly in the database are picked up on the next restart.
+ */
+@Component
+public class ArticleExpiryIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleExpiryIndex.class);
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private NotificationFeed notificationFeed;
+
+    @Value("${notification.expiry.days-ahead:7}")
+    private int daysAhead;
+
+    @Value("${notification.expiry.retry-delay-ms:60000}")
+    private long retryDelayMillis;
+
+    // Guarded by this. Buckets hold the articles not notified yet, keyed by expiry date
+    private final Map<Long, LocalDate> expiryByArticle = new HashMap<>();
+    private final NavigableMap<LocalDate, Set<Long>> pendingByExpiry = new TreeMap<>();
+    private ScheduledFuture<?> nextCrossing;
+    private LocalDate nextCrossingDay;
+    private ThreadPoolTaskScheduler scheduler;
+
+    @PostConstruct
+    void start() {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("expiry-index-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+
+        // Loaded under the lock, so a crossing due at startup sweeps every stored article at once
+        List<Object[]> expiryDates = articleRepository.findArticleExpiryDates();
+        synchronized (this) {
+            for (Object[] row : expiryDates) {
+                put((Long) row[0], (LocalDate) row[1]);
+            }
+        }
+        logger.info("Article expiry index built with {} articles", expiryByArticle.size());
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdown();
+    }
+
+    // Call once the article write has committed
+    public synchronized void put(Long articleId, LocalDate expiryDate) {
+        LocalDate previous = expiryDate != null ? expiryByArticle.put(articleId, expiryDate) : expiryByArticle.remove(articleId);
+        if (Objects.equals(previous, expiryDate)) {
+            return;
+        }
+        if (previous != null) {
+            removePending(articleId, previous);
+        }
+        if (expiryDate != null) {
+            pendingByExpiry.computeIfAbsent(expiryDate, date -> new HashSet<>()).add(articleId);
+            scheduleCrossing(expiryDate.minusDays(daysAhead));
+        }
+    }
+
+    private void removePending(Long articleId, LocalDate expiryDate) {
+        Set<Long> bucket = pendingByExpiry.get(expiryDate);
+        if (bucket != null && bucket.remove(articleId) && bucket.isEmpty()) {
+            pendingByExpiry.remove(expiryDate);
+        }
+    }
+
+    // Keeps a single task, for the earliest day any pending bucket crosses the threshold
+    private void scheduleCrossing(LocalDate day) {
+        Instant startOfDay = day.atStartOfDay(ZoneId.systemDefault()).toInstant();
+        scheduleCrossing(day, startOfDay.isBefore(Instant.now()) ? Instant.now() : startOfDay);
+    }
+
+    private void scheduleCrossing(LocalDate day, Instant at) {
+        if (nextCrossing != null && !nextCrossing.isDone() && !nextCrossingDay.isAfter(day)) {
+            return;
+        }
+        if (nextCrossing != null) {
+            nextCrossing.cancel(false);
+        }
+        nextCrossingDay = day;
+        nextCrossing = scheduler.schedule(this::notifyCrossedBuckets, at);
+    }
+
+    private void notifyCrossedBuckets() {
+        LocalDate horizon = LocalDate.now().plusDays(daysAhead);
+        List<Long> articleIds = new ArrayList<>();
+        synchronized (this) {
+            NavigableMap<LocalDate, Set<Long>> crossed = pendingByExpiry.headMap(horizon, true);
+            crossed.values().forEach(articleIds::addAll);
+            crossed.clear();
+            nextCrossing = null;
+            if (!pendingByExpiry.isEmpty()) {
+                scheduleCrossing(pendingByExpiry.firstKey().minusDays(daysAhead));
+            }
+        }
+        if (articleIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            Integer created = transactionTemplate.execute(status ->
+                    notificationRepository.insertExpiryNotifications(articleIds, horizon));
+            logger.debug("Raised {} expiry notifications", created);
+            if (created != null && created > 0) {
+                notificationFeed.publishCreated();
+            }
+        } catch (RuntimeException e) {
+            // Put the articles back and try them again after the retry delay; their buckets are already crossed,
+            // so waiting for the next crossing could take days
+            logger.error("Expiry notification failed for {} articles, retrying in {} ms", articleIds.size(), retryDelayMillis, e);
+            synchronized (this) {
+                articleIds.forEach(articleId -> {
+                    LocalDate expiryDate = expiryByArticle.get(articleId);
+                    if (expiryDate != null) {
+                        pendingByExpiry.computeIfAbsent(expiryDate, date -> new HashSet<>()).add(articleId);
+                    }
+                });
+                scheduleCrossing(LocalDate.now(), Instant.now().plusMillis(retryDelayMillis));
+            }
+        }
+    }
+}
@@ -1,29 +1,38 @@
 package com.inventorysystem.Backend.service.imp;
 
+import com.inventorysystem.Backend.cache.ArticleCache;
+import com.inventorysystem.Backend.dto.article.ArticleCacheStatsDTO;
 import com.inventorysystem.Backend.dto.article.ArticleCreationDTO;
 import com.inventorysystem.Backend.dto.article.ArticleDTO;
 import com.inventorysystem.Backend.dto.article.ArticleUpdateDTO;
 import com.inventorysystem.Backend.dto.article.ArticlesPageDTO;
+import com.inventorysystem.Backend.event.StockChangedEvent;
 import com.inventorysystem.Backend.mapper.ArticleMapper;
 import com.inventorysystem.Backend.model.Article;
-import com.inventorysystem.Backend.model.Notification;
 import com.inventorysystem.Backend.model.Stock;
 import com.inventorysystem.Backend.repository.ArticleRepository;
-import com.inventorysystem.Backend.repository.NotificationRepository;
 import com.inventorysystem.Backend.repository.StockRepository;
-import com.inventorysystem.Backend.repository.specifications.ArticleSpecifications;
+import com.inventorysystem.Backend.search.ArticleSearchIndex;
+import com.inventorysystem.Backend.search.ArticleSuggestIndex;
 import com.inventorysystem.Backend.service.ArticleService;
 import com.inventorysystem.Backend.service.StockService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,15 +44,27 @@ public class ArticleServiceImp implements ArticleService {
     @Autowired
     private ArticleMapper articleMapper;
 
-    @Autowired
-    private NotificationRepository notificationRepository;
-
     @Autowired
     private StockRepository stockRepository;  // Repository for stock operations
 
     @Autowired
     private StockService stockService;  // StockService for stock-related business logic
 
+    @Autowired
+    private ArticleCache articleCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ArticleSearchIndex articleSearchIndex;
+
+    @Autowired
+    private ArticleSuggestIndex articleSuggestIndex;
+
+    @Autowired
+    private ArticleExpiryIndex articleExpiryIndex;
+
     @Override
     @Transactional
     public ArticleDTO createArticle(ArticleCreationDTO article) {
@@ -57,14 +78,33 @@ public class ArticleServiceImp implements ArticleService {
                 article.getProviderId(),
                 article.getCategoryId()
         );
-        return getArticleById(newArticleId);
+
+        // Build the response from the request data instead of reading the new article back
+        Article createdArticle = new Article(newArticleId);
+        createdArticle.setName(article.getName());
+        createdArticle.setBrand(article.getBrand());
+        createdArticle.setStock(article.getStock());
+        createdArticle.setPurchasePrice(article.getPurchasePrice());
+        createdArticle.setSalePrice(article.getSalePrice());
+        createdArticle.setWeight(article.getWeight());
+        createdArticle.setProviderId(article.getProviderId());
+        createdArticle.setCategoryId(article.getCategoryId());
+
+        afterCommit(() -> {
+            articleSearchIndex.put(newArticleId, article.getName(), article.getBrand(), article.getProviderId());
+            articleSuggestIndex.put(newArticleId, article.getName(), article.getBrand());
+        });
+        eventPublisher.publishEvent(new StockChangedEvent(List.of(newArticleId)));
+        return articleMapper.articleToDTO(createdArticle);
     }
 
     @Override
     @Transactional
-    public ArticlesPageDTO getAllArticles(Long providerId, String criteria, Integer page, Integer pageSize) {
+    public ArticlesPageDTO getAllArticles(Long providerId, String criteria, boolean fuzzy, Integer page, Integer pageSize) {
         Pageable pageable = PageRequest.of(page - 1, pageSize, Sort.by("articleId").descending());
-        Page<Article> articlePage = resolveArticlePage(providerId, criteria, pageable);
+        Page<Article> articlePage = criteria == null || criteria.isEmpty()
+                ? resolveArticlePage(providerId, pageable)
+                : searchArticlePage(providerId, criteria, fuzzy, pageable);
 
         List<ArticleDTO> articles = articlePage.getContent().stream()
                 .map(articleMapper::articleToDTO)
@@ -73,10 +113,20 @@ public class ArticleServiceImp implements ArticleService {
         return buildArticlesPageResponse(articlePage, articles);
     }
 
+    @Override
+    public ArticleCacheStatsDTO getArticleCacheStats() {
+        return articleCache.stats();
+    }
+
+    @Override
+    public List<String> suggestArticles(String prefix, int limit) {
+        return articleSuggestIndex.suggest(prefix, limit);
+    }
+
     @Override
     @Transactional
     public ArticleDTO getArticleById(Long id) {
-        Article foundArticle = articleRepository.getArticleById(id);
+        Article foundArticle = articleCache.get(id);
         return articleMapper.articleToDTO(foundArticle);
     }
 
@@ -84,13 +134,18 @@ public class ArticleServiceImp implements ArticleService {
     @Transactional
     public ArticleDTO updateArticle(Long articleId, ArticleUpdateDTO articleData) {
         Article foundArticle = validateAndUpdateArticle(articleId, articleData);
+        articleCache.invalidate(articleId);
+        afterCommit(() -> {
+            articleSearchIndex.put(
+                    foundArticle.getArticleId(), foundArticle.getName(), foundArticle.getBrand(), foundArticle.getProviderId());
+            articleSuggestIndex.put(foundArticle.getArticleId(), foundArticle.getName(), foundArticle.getBrand());
+            articleExpiryIndex.put(foundArticle.getArticleId(), foundArticle.getExpiryDate());
+        });
 
-        // Trigger notification if stock is low after update
-        if (foundArticle.getStock() <= 5) {
-            triggerLowStockNotification(foundArticle);
-        }
+        eventPublisher.publishEvent(new StockChangedEvent(List.of(articleId)));
 
-        return getArticleById(foundArticle.getArticleId());
+        // foundArticle already holds the updated values
+        return articleMapper.articleToDTO(foundArticle);
     }
 
     // New method to handle selling stock
@@ -119,11 +174,8 @@ public class ArticleServiceImp implements ArticleService {
                 article.getProviderId(),
                 article.getCategoryId()
         );
-
-        // Trigger low stock notification if the stock goes below threshold
-        if (article.getStock() <= 5) {
-            triggerLowStockNotification(article);
-        }
+        articleCache.invalidate(articleId);
+        eventPublisher.publishEvent(new StockChangedEvent(List.of(articleId)));
 
         return true;  // Stock sold successfully
     }
@@ -140,16 +192,46 @@ public class ArticleServiceImp implements ArticleService {
                 .collect(Collectors.toList());
     }
 
-    private Page<Article> resolveArticlePage(Long providerId, String criteria, Pageable pageable) {
-        if (providerId == null && (criteria == null || criteria.isEmpty())) {
+    private Page<Article> resolveArticlePage(Long providerId, Pageable pageable) {
+        if (providerId == null) {
             return articleRepository.findAll(pageable);
-        } else if (providerId != null && (criteria == null || criteria.isEmpty())) {
-            return articleRepository.findAllArticlesByProvider(providerId, pageable);
-        } else if (providerId != null) {
-            return articleRepository.findAllArticlesByProviderAndTerm(providerId, criteria, pageable);
-        } else {
-            return articleRepository.findAll(ArticleSpecifications.searchArticles(criteria), pageable);
         }
+        return articleRepository.findAllArticlesByProvider(providerId, pageable);
+    }
+
+    // Rank the matches in memory, then load only the requested page of them
+    private Page<Article> searchArticlePage(Long providerId, String criteria, boolean fuzzy, Pageable pageable) {
+        List<Long> rankedIds = fuzzy
+                ? articleSearchIndex.fuzzySearch(criteria, providerId)
+                : articleSearchIndex.search(criteria, providerId);
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, to);
+
+        Map<Long, Article> articlesById = new HashMap<>(pageIds.size() * 2);
+        for (Article article : articleRepository.findAllById(pageIds)) {
+            articlesById.put(article.getArticleId(), article);
+        }
+
+        List<Article> pageArticles = pageIds.stream()
+                .map(articlesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(pageArticles, pageable, rankedIds.size());
+    }
+
+    // Index changes become visible only once the write is committed
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     private ArticlesPageDTO buildArticlesPageResponse(Page<Article> articlePage, List<ArticleDTO> articles) {
@@ -193,12 +275,4 @@ public class ArticleServiceImp implements ArticleService {
 
         return foundArticle;
     }
-
-    private void triggerLowStockNotification(Article article) {
-        Notification notification = new Notification();
-        notification.setMessage("Item '" + article.getName() + "' (ID: " + article.getArticleId() + ") is low on stock.");
-        notification.setArticleId(article.getArticleId());
-        notification.setRead(false);
-        notificationRepository.save(notification);
-    }
 }
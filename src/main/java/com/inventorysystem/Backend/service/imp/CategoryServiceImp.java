@@ -1,5 +1,6 @@
 package com.inventorysystem.Backend.service.imp;
 
+import com.inventorysystem.Backend.cache.ReferenceDataCache;
 import com.inventorysystem.Backend.dto.category.CategoriesPageDTO;
 import com.inventorysystem.Backend.dto.category.CategoryCreationDTO;
 import com.inventorysystem.Backend.dto.category.CategoryDTO;
@@ -29,11 +30,16 @@ public class CategoryServiceImp implements CategoryService {
     @Autowired
     CategoryMapper categoryMapper;
 
+    @Autowired
+    ReferenceDataCache referenceDataCache;
+
     @Override
     @Transactional
     public CategoryDTO createCategory(CategoryCreationDTO category) {
         Long newCategoryId = categoryRepository.createCategory(category.getName());
-        return getCategoryById(newCategoryId);
+        CategoryDTO createdCategory = getCategoryById(newCategoryId);
+        referenceDataCache.refreshCategory(newCategoryId, createdCategory);
+        return createdCategory;
     }
 
     @Override
@@ -93,7 +99,9 @@ public class CategoryServiceImp implements CategoryService {
         );
 
         // Call class method for get by category id
-        return getCategoryById(foundCategory.getCategoryId());
+        CategoryDTO updatedCategory = getCategoryById(foundCategory.getCategoryId());
+        referenceDataCache.refreshCategory(foundCategory.getCategoryId(), updatedCategory);
+        return updatedCategory;
     }
 
 
@@ -106,6 +114,7 @@ public class CategoryServiceImp implements CategoryService {
         Category foundCategory = categoryRepository.getCategoryById(categoryId);
         if (foundCategory != null) {
             categoryRepository.deleteCategory(categoryId);
+            referenceDataCache.removeCategory(categoryId);
         } else {
             throw new IllegalArgumentException("Category not found with ID: " + categoryId);
         }
@@ -9,6 +9,7 @@ import com.inventorysystem.Backend.mapper.CustomerMapper;
 import com.inventorysystem.Backend.model.Customer;
 import com.inventorysystem.Backend.repository.CustomerRepository;
 import com.inventorysystem.Backend.repository.specifications.CustomerSpecifications;
+import com.inventorysystem.Backend.search.SaleSearchIndex;
 import com.inventorysystem.Backend.service.CustomerService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -17,6 +18,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -30,6 +33,9 @@ public class CustomerServiceImp implements CustomerService {
     @Autowired
     CustomerMapper customerMapper;
 
+    @Autowired
+    SaleSearchIndex saleSearchIndex;
+
     @Override
     @Transactional
     public CustomerDTO createCustomer(CustomerCreationDTO customer) {
@@ -42,6 +48,8 @@ public class CustomerServiceImp implements CustomerService {
                 customer.getState(),
                 customer.getCity()
         );
+        // A rolled back customer must not become searchable
+        afterCommit(() -> saleSearchIndex.putCustomer(newCustomerId, customer.getName(), customer.getDocument()));
         return getCustomerById(newCustomerId);
     }
 
@@ -125,4 +133,17 @@ public class CustomerServiceImp implements CustomerService {
         // Call class method for get by user id
         return getCustomerById(foundCustomer.getCustomerId());
     }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
@@ -0,0 +1,118 @@
+package com.inventorysystem.Backend.service.imp;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inventorysystem.Backend.repository.IdempotencyKeyRepository;
+import com.inventorysystem.Backend.service.IdempotencyService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Service
+public class IdempotencyServiceImp implements IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyServiceImp.class);
+
+    private static final int MAX_KEY_LENGTH = 64;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${idempotency.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${idempotency.cache.ttl-minutes:60}")
+    private long cacheTtlMinutes;
+
+    @Value("${idempotency.key.retention-hours:24}")
+    private long keyRetentionHours;
+
+    // Responses of recently completed requests, so a retry is answered without touching the database
+    private Cache<String, Object> responses;
+
+    @PostConstruct
+    void initCache() {
+        responses = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(cacheTtlMinutes))
+                .build();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String key, Supplier<T> create, Function<T, Long> resourceIdOf, Function<Long, T> replay) {
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key cannot be longer than " + MAX_KEY_LENGTH + " characters");
+        }
+        String scopedKey = scope + ":" + key;
+
+        Object cached = responses.getIfPresent(scopedKey);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                Long existingId = idempotencyKeyRepository.findResourceId(scopedKey);
+                if (existingId != null) {
+                    T original = replay.apply(existingId);
+                    responses.put(scopedKey, original);
+                    return original;
+                }
+
+                T created = create.get();
+                if (created == null) {
+                    return null;
+                }
+                idempotencyKeyRepository.insertKey(scopedKey, resourceIdOf.apply(created));
+                cacheAfterCommit(scopedKey, created);
+                return created;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request with the same key committed first, answer with its result
+            Long existingId = idempotencyKeyRepository.findResourceId(scopedKey);
+            if (existingId == null) {
+                throw e;
+            }
+            logger.info("Concurrent retry detected for idempotency key {}", scopedKey);
+            T original = replay.apply(existingId);
+            responses.put(scopedKey, original);
+            return original;
+        }
+    }
+
+    @Scheduled(fixedRate = 3600000)
+    @Transactional
+    public void purgeExpiredKeys() {
+        int deleted = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(keyRetentionHours));
+        if (deleted > 0) {
+            logger.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private void cacheAfterCommit(String scopedKey, Object response) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                responses.put(scopedKey, response);
+            }
+        });
+    }
+}
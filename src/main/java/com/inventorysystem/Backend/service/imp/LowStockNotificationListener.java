@@ -0,0 +1,97 @@
+package com.inventorysystem.Backend.service.imp;
+
+import com.inventorysystem.Backend.event.StockChangedEvent;
+import com.inventorysystem.Backend.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Raises low-stock notifications when a stock-changing write commits, instead of scanning the article table on a
+ * timer.
+ * <p>
+ * Changed article ids are collected and checked by one background thread, so the write that published them does
+ * not wait, and a burst of sales costs one statement for all the articles it touched. An article gets a notification
+ * when its stock is at or below notification.low-stock.threshold and it has no unread notification yet.
+ */
+@Component
+public class LowStockNotificationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(LowStockNotificationListener.class);
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private NotificationFeed notificationFeed;
+
+    @Value("${notification.low-stock.threshold:3}")
+    private int threshold;
+
+    private final Set<Long> changedArticleIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean checkScheduled = new AtomicBoolean();
+    private ExecutorService checker;
+
+    @PostConstruct
+    void start() {
+        checker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "low-stock-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        checker.shutdown();
+        checker.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    // Writes outside a transaction publish too, they are checked right away
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        changedArticleIds.addAll(event.getArticleIds());
+        if (checkScheduled.compareAndSet(false, true)) {
+            checker.execute(this::checkChangedArticles);
+        }
+    }
+
+    private void checkChangedArticles() {
+        checkScheduled.set(false);
+        List<Long> articleIds = new ArrayList<>(changedArticleIds);
+        if (articleIds.isEmpty()) {
+            return;
+        }
+        changedArticleIds.removeAll(articleIds);
+
+        try {
+            Integer created = transactionTemplate.execute(status ->
+                    notificationRepository.insertLowStockNotifications(articleIds, threshold));
+            logger.debug("Raised {} low stock notifications", created);
+            if (created != null && created > 0) {
+                notificationFeed.publishCreated();
+            }
+        } catch (RuntimeException e) {
+            // The reconciliation sweep picks these articles up later
+            logger.error("Low stock check failed for {} articles", articleIds.size(), e);
+        }
+    }
+}
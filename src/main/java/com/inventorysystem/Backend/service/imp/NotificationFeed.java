@@ -0,0 +1,126 @@
+package com.inventorysystem.Backend.service.imp;
+
+import com.inventorysystem.Backend.dto.Notification.NotificationDTO;
+import com.inventorysystem.Backend.dto.Notification.NotificationEventDTO;
+import com.inventorysystem.Backend.model.Notification;
+import com.inventorysystem.Backend.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unread notifications held in memory and pushed to STOMP subscribers of {@value #TOPIC} and to the
+ * {@link NotificationStream} server-sent events stream.
+ * <p>
+ * Clients get the unread list once on subscribe and then {@link NotificationEventDTO} events as notifications are
+ * created or read, so neither the snapshot nor the REST list touches the database. Notifications are inserted in
+ * bulk by SQL, so after an insert the unread rows the feed does not hold yet are loaded and announced. Ids are
+ * handed out at insert time, not at commit, so a concurrent insert can commit a lower id after a higher one was
+ * announced; comparing against the held ids rather than the highest one seen still finds it. The returned
+ * snapshot is shared and must not be modified.
+ */
+@Component
+public class NotificationFeed {
+
+    public static final String TOPIC = "/topic/notifications";
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationFeed.class);
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private NotificationStream notificationStream;
+
+    // Guarded by this; the snapshot is rebuilt on every change and read without locking
+    private final Map<Long, NotificationDTO> unread = new LinkedHashMap<>();
+    private volatile List<NotificationDTO> snapshot = List.of();
+
+    @PostConstruct
+    public synchronized void load() {
+        unread.clear();
+        for (Notification notification : notificationRepository.findByIsRead(false)) {
+            unread.put(notification.getId(), toDTO(notification));
+        }
+        snapshot = List.copyOf(unread.values());
+        logger.debug("Notification feed loaded: {} unread", unread.size());
+    }
+
+    public List<NotificationDTO> getUnread() {
+        return snapshot;
+    }
+
+    // Call after the inserting transaction has committed. The snapshot is updated before the events go out, so a
+    // client that takes the snapshot and then listens never misses one (at worst it sees an event twice)
+    public synchronized void publishCreated() {
+        List<Long> createdIds = new ArrayList<>();
+        for (Long id : notificationRepository.findUnreadIds()) {
+            if (!unread.containsKey(id)) {
+                createdIds.add(id);
+            }
+        }
+        if (createdIds.isEmpty()) {
+            return;
+        }
+
+        List<Notification> created = notificationRepository.findAllById(createdIds);
+        created.sort(Comparator.comparing(Notification::getId));
+        List<NotificationDTO> createdDTOs = new ArrayList<>(created.size());
+        for (Notification notification : created) {
+            // Read between the two queries; its read event is on the way
+            if (notification.isRead()) {
+                continue;
+            }
+            NotificationDTO notificationDTO = toDTO(notification);
+            unread.put(notification.getId(), notificationDTO);
+            createdDTOs.add(notificationDTO);
+        }
+        snapshot = List.copyOf(unread.values());
+        createdDTOs.forEach(notificationDTO -> send(NotificationEventDTO.Type.CREATED, notificationDTO));
+    }
+
+    public synchronized void publishRead(Collection<Notification> notifications) {
+        List<NotificationDTO> readDTOs = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            if (unread.remove(notification.getId()) != null) {
+                readDTOs.add(toDTO(notification));
+            }
+        }
+        snapshot = List.copyOf(unread.values());
+        readDTOs.forEach(notificationDTO -> send(NotificationEventDTO.Type.READ, notificationDTO));
+    }
+
+    private void send(NotificationEventDTO.Type type, NotificationDTO notification) {
+        NotificationEventDTO event = new NotificationEventDTO(type, notification);
+        notificationStream.publish(event);
+        try {
+            messagingTemplate.convertAndSend(TOPIC, event);
+        } catch (RuntimeException e) {
+            // Subscribers catch up from the snapshot when they reconnect
+            logger.warn("Could not push notification {}", notification.getId(), e);
+        }
+    }
+
+    static NotificationDTO toDTO(Notification notification) {
+        return new NotificationDTO(
+                notification.getId(),
+                notification.getMessage(),
+                notification.getArticleId(),
+                notification.getName(),
+                notification.isRead(),
+                notification.getDateTime());
+    }
+}
@@ -6,6 +6,7 @@ import com.inventorysystem.Backend.repository.NotificationRepository;
 import com.inventorysystem.Backend.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -16,18 +17,16 @@ public class NotificationServiceImp implements NotificationService {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private NotificationFeed notificationFeed;
+
+    @Autowired
+    private NotificationStream notificationStream;
+
     @Override
     public List<NotificationDTO> getUnreadNotifications() {
-        List<Notification> unreadNotifications = notificationRepository.findByIsRead(false);
-        return unreadNotifications.stream()
-                .map(notification -> new NotificationDTO(
-                        notification.getId(),
-                        notification.getMessage(),
-                        notification.getArticleId(),
-                        notification.getName(),
-                        notification.isRead(),
-                        notification.getDateTime()))
-                .collect(Collectors.toList());
+        // Served from memory; the feed is kept current as notifications are created and read
+        return notificationFeed.getUnread();
     }
 
     @Override
@@ -36,6 +35,7 @@ public class NotificationServiceImp implements NotificationService {
                 .orElseThrow(() -> new RuntimeException("Notification not found: " + id));
         notification.setRead(true); // Properly sets the notification as read
         notificationRepository.save(notification);
+        notificationFeed.publishRead(List.of(notification));
     }
 
     @Override
@@ -43,13 +43,7 @@ public class NotificationServiceImp implements NotificationService {
         // Fetch unread notifications related to expiry using the repository method
         List<Notification> unreadExpiryNotifications = notificationRepository.findByIsReadFalseAndNameContaining("name");
         return unreadExpiryNotifications.stream()
-                .map(notification -> new NotificationDTO(
-                        notification.getId(),
-                        notification.getMessage(),
-                        notification.getArticleId(),
-                        notification.getName(),
-                        notification.isRead(),
-                        notification.getDateTime()))
+                .map(NotificationFeed::toDTO)
                 .collect(Collectors.toList());
     }
 
@@ -65,5 +59,11 @@ public class NotificationServiceImp implements NotificationService {
             notification.setRead(true);
             notificationRepository.save(notification);
         });
+        notificationFeed.publishRead(notifications);
+    }
+
+    @Override
+    public ResponseBodyEmitter streamNotifications(String lastEventId) {
+        return notificationStream.subscribe(lastEventId);
     }
 }
@@ -0,0 +1,268 @@
+package com.inventorysystem.Backend.service.imp;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventorysystem.Backend.dto.Notification.NotificationDTO;
+import com.inventorysystem.Backend.dto.Notification.NotificationEventDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent events stream of notification events, for clients that cannot keep a WebSocket open.
+ * <p>
+ * Every event is encoded once into an SSE frame that is written as-is to all connections, and the most recent
+ * frames are kept in a bounded replay buffer. A client that reconnects with a Last-Event-ID still in the buffer gets
+ * only the events it missed; any other client starts with a snapshot event holding the unread list from
+ * {@link NotificationFeed}. One dispatcher thread numbers the frames and hands them to the connections in order.
+ * <p>
+ * Each connection has its own queue, written by at most one writer thread at a time, so a client that stops
+ * reading only holds up its own writes. A connection with more than {@code notification.sse.max-pending-frames}
+ * frames waiting is dropped; the client reconnects with its Last-Event-ID and catches up from the replay buffer.
+ */
+@Component
+public class NotificationStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStream.class);
+
+    @Autowired
+    @Lazy
+    private NotificationFeed notificationFeed;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${notification.sse.replay-size:1024}")
+    private int replaySize;
+
+    @Value("${notification.sse.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${notification.sse.max-pending-frames:256}")
+    private int maxPendingFrames;
+
+    // Only touched by the dispatcher thread
+    private final Deque<Frame> replay = new ArrayDeque<>();
+    private final List<Connection> connections = new ArrayList<>();
+    private long lastEventId;
+    private List<NotificationDTO> lastSnapshot;
+    private byte[] lastSnapshotJson;
+    private ExecutorService dispatcher;
+    // A writer only blocks on a client that stopped reading, until the container's write timeout or the drop
+    private ExecutorService writers;
+
+    private record Frame(long id, byte[] bytes) {
+    }
+
+    private final class Connection {
+        private final ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMillis);
+        // Guarded by this
+        private final Deque<byte[]> pending = new ArrayDeque<>();
+        private boolean writing;
+        private boolean closed;
+
+        // Returns false once the connection is closed, including when this frame overflows its queue
+        boolean enqueue(byte[] frame) {
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+                if (pending.size() == maxPendingFrames) {
+                    // The writer is stuck on this client; it completes the response when its write returns
+                    logger.debug("Dropping a notification stream that is {} events behind", pending.size());
+                    closed = true;
+                    pending.clear();
+                    return false;
+                }
+                pending.addLast(frame);
+                if (writing) {
+                    return true;
+                }
+                writing = true;
+            }
+            writers.execute(this::drain);
+            return true;
+        }
+
+        synchronized void close() {
+            closed = true;
+            pending.clear();
+        }
+
+        private void drain() {
+            while (true) {
+                byte[] frame;
+                synchronized (this) {
+                    frame = closed ? null : pending.pollFirst();
+                    if (frame == null) {
+                        writing = false;
+                        if (!closed) {
+                            return;
+                        }
+                    }
+                }
+                if (frame == null) {
+                    complete();
+                    return;
+                }
+                try {
+                    emitter.send(frame, MediaType.TEXT_EVENT_STREAM);
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away; it resumes from its last event id when it reconnects
+                    close();
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+
+        private void complete() {
+            try {
+                emitter.complete();
+            } catch (RuntimeException e) {
+                // The container may already have released the response
+            }
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        // Ids start at the boot time in milliseconds, so ids handed out before a restart fall outside the buffer
+        lastEventId = System.currentTimeMillis();
+        dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-sse");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger writerCount = new AtomicInteger();
+        writers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "notification-sse-writer-" + writerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        dispatcher.execute(() -> connections.forEach(connection -> {
+            connection.close();
+            connection.complete();
+        }));
+        dispatcher.shutdown();
+        dispatcher.awaitTermination(10, TimeUnit.SECONDS);
+        writers.shutdownNow();
+    }
+
+    public ResponseBodyEmitter subscribe(String lastEventIdHeader) {
+        Connection connection = new Connection();
+        connection.emitter.onCompletion(() -> {
+            connection.close();
+            dispatcher.execute(() -> connections.remove(connection));
+        });
+        connection.emitter.onTimeout(() -> {
+            connection.close();
+            connection.complete();
+        });
+        dispatcher.execute(() -> connect(connection, lastEventIdHeader));
+        return connection.emitter;
+    }
+
+    public void publish(NotificationEventDTO event) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize notification event", e);
+            return;
+        }
+        dispatcher.execute(() -> {
+            lastEventId++;
+            Frame frame = new Frame(lastEventId, encode(lastEventId, "notification", json));
+            if (replay.size() == replaySize) {
+                replay.removeFirst();
+            }
+            replay.addLast(frame);
+            connections.removeIf(connection -> !connection.enqueue(frame.bytes()));
+        });
+    }
+
+    private void connect(Connection connection, String lastEventIdHeader) {
+        Long resumeFrom = parseEventId(lastEventIdHeader);
+        boolean replayable = resumeFrom != null && !replay.isEmpty()
+                && resumeFrom >= replay.getFirst().id() - 1 && resumeFrom <= lastEventId;
+        boolean connected;
+        if (replayable) {
+            // The missed frames go out as one write, so a long catch-up takes one slot of the queue
+            ByteArrayOutputStream missed = new ByteArrayOutputStream();
+            for (Frame frame : replay) {
+                if (frame.id() > resumeFrom) {
+                    missed.writeBytes(frame.bytes());
+                }
+            }
+            connected = missed.size() == 0 || connection.enqueue(missed.toByteArray());
+        } else if (resumeFrom != null && resumeFrom == lastEventId) {
+            // Nothing was published since the client's last event
+            connected = true;
+        } else {
+            connected = connection.enqueue(snapshotFrame());
+        }
+        if (connected) {
+            connections.add(connection);
+        }
+    }
+
+    // The unread list as of lastEventId; it only changes when events are published, so it is serialized once per change
+    private byte[] snapshotFrame() {
+        List<NotificationDTO> snapshot = notificationFeed.getUnread();
+        if (snapshot != lastSnapshot) {
+            try {
+                lastSnapshotJson = objectMapper.writeValueAsBytes(snapshot);
+                lastSnapshot = snapshot;
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize notification snapshot", e);
+            }
+        }
+        return encode(lastEventId, "snapshot", lastSnapshotJson);
+    }
+
+    // A complete SSE frame; the JSON has no line breaks, so it fits in a single data line
+    private static byte[] encode(long id, String name, byte[] json) {
+        byte[] header = ("id:" + id + "\nevent:" + name + "\ndata:").getBytes(StandardCharsets.UTF_8);
+        byte[] frame = Arrays.copyOf(header, header.length + json.length + 2);
+        System.arraycopy(json, 0, frame, header.length, json.length);
+        frame[frame.length - 2] = '\n';
+        frame[frame.length - 1] = '\n';
+        return frame;
+    }
+
+    private static Long parseEventId(String eventId) {
+        if (eventId == null || eventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
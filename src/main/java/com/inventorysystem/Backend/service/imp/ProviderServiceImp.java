@@ -1,5 +1,6 @@
 package com.inventorysystem.Backend.service.imp;
 
+import com.inventorysystem.Backend.cache.ReferenceDataCache;
 import com.inventorysystem.Backend.dto.provider.ProviderCreationDTO;
 import com.inventorysystem.Backend.dto.provider.ProviderDTO;
 import com.inventorysystem.Backend.dto.provider.ProviderUpdateDTO;
@@ -29,6 +30,9 @@ public class ProviderServiceImp implements ProviderService {
     @Autowired
     ProviderMapper providerMapper;
 
+    @Autowired
+    ReferenceDataCache referenceDataCache;
+
     @Override
     @Transactional
     public ProviderDTO createProvider(ProviderCreationDTO provider) {
@@ -37,7 +41,9 @@ public class ProviderServiceImp implements ProviderService {
                 provider.getPhoneNumber(),
                 provider.getEmail()
         );
-        return getProviderById(newProviderId);
+        ProviderDTO createdProvider = getProviderById(newProviderId);
+        referenceDataCache.refreshProvider(newProviderId, createdProvider);
+        return createdProvider;
     }
 
     @Override
@@ -100,6 +106,8 @@ public class ProviderServiceImp implements ProviderService {
         );
 
         // Call class method for get by provider id
-        return getProviderById(foundProvider.getProviderId());
+        ProviderDTO updatedProvider = getProviderById(foundProvider.getProviderId());
+        referenceDataCache.refreshProvider(foundProvider.getProviderId(), updatedProvider);
+        return updatedProvider;
     }
 }
@@ -1,15 +1,22 @@
 package com.inventorysystem.Backend.service.imp;
 
+import com.inventorysystem.Backend.cache.ArticleCache;
 import com.inventorysystem.Backend.dto.purchase.*;
+import com.inventorysystem.Backend.event.StockChangedEvent;
 import com.inventorysystem.Backend.mapper.PurchaseMapper;
 import com.inventorysystem.Backend.model.Article;
+import com.inventorysystem.Backend.model.Provider;
 import com.inventorysystem.Backend.model.Purchase;
 import com.inventorysystem.Backend.model.PurchaseDetail;
+import com.inventorysystem.Backend.model.User;
 import com.inventorysystem.Backend.repository.ArticleRepository;
 import com.inventorysystem.Backend.repository.PurchaseDetailRepository;
 import com.inventorysystem.Backend.repository.PurchaseRepository;
+import com.inventorysystem.Backend.service.IdempotencyService;
 import com.inventorysystem.Backend.service.PurchaseService;
+import com.inventorysystem.Backend.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -18,7 +25,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,9 +45,18 @@ public class PurchaseServiceImp implements PurchaseService {
     @Autowired
     ArticleRepository articleRepository;
 
+    @Autowired
+    ArticleCache articleCache;
+
     @Autowired
     PurchaseMapper purchaseMapper;
 
+    @Autowired
+    IdempotencyService idempotencyService;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional
     public PurchaseDetailDTO createPurchase(PurchaseCreationDTO purchase) {
@@ -44,20 +65,21 @@ public class PurchaseServiceImp implements PurchaseService {
             return null;
         }
 
+        // Resolve every article of the purchase in a single query
+        Map<Long, Article> articlesById = findArticlesById(purchase.getArticles());
+
         List<PurchaseCreationArticleDTO> validArticles = new ArrayList<>();
         Long totalPurchasePrice = 0L;
 
         // Validate articles and calculate the total purchase price
         for (PurchaseCreationArticleDTO article : purchase.getArticles()) {
-            if (!articleRepository.existsById(article.getArticleId()) || article.getArticleQuantity() < 1) {
+            Article foundArticle = articlesById.get(article.getArticleId());
+            if (foundArticle == null || article.getArticleQuantity() < 1) {
                 continue;
             }
 
-            // Retrieve the article from the repository
-            Article foundArticle = articleRepository.getArticleById(article.getArticleId());
-
             // Validate if the item belongs to the selected provider
-            if (foundArticle.getProviderId() != purchase.getProviderId()) {
+            if (!Objects.equals(foundArticle.getProviderId(), purchase.getProviderId())) {
                 continue;
             }
 
@@ -84,26 +106,58 @@ public class PurchaseServiceImp implements PurchaseService {
         Long newPurchaseId = savedPurchase.getPurchaseId();
 
         // Handle purchase details
+        List<PurchaseDetail> purchaseDetails = new ArrayList<>(validArticles.size());
         for (PurchaseCreationArticleDTO article : validArticles) {
-            Article foundArticle = articleRepository.getArticleById(article.getArticleId());
-            Long totalValue = (long) (foundArticle.getPurchasePrice() * article.getArticleQuantity());
+            Article foundArticle = articlesById.get(article.getArticleId());
+            Integer totalValue = foundArticle.getPurchasePrice() * article.getArticleQuantity();
 
-            // Create and save purchase detail
-            purchaseDetailRepository.createPurchaseDetail(
+            // Collect the purchase detail, all of them are written in one batch below
+            purchaseDetails.add(new PurchaseDetail(
                     newPurchaseId,
                     foundArticle.getArticleId(),
                     article.getArticleQuantity(),
                     totalValue
-            );
-
-            // Update article stock
-            Integer stock = foundArticle.getStock() + article.getArticleQuantity();
-            foundArticle.setStock(stock);
-            articleRepository.save(foundArticle);
+            ));
+        }
+        purchaseDetailRepository.createPurchaseDetails(purchaseDetails);
+
+        // Update article stock in place, without writing back the stale snapshot. Rows are locked in article id
+        // order, the same order sales use, so concurrent purchases and sales cannot deadlock
+        List<PurchaseCreationArticleDTO> linesInLockOrder = new ArrayList<>(validArticles);
+        linesInLockOrder.sort(Comparator.comparing(PurchaseCreationArticleDTO::getArticleId));
+        for (PurchaseCreationArticleDTO article : linesInLockOrder) {
+            articleRepository.incrementStock(article.getArticleId(), article.getArticleQuantity());
+            articleCache.invalidate(article.getArticleId());
         }
+        eventPublisher.publishEvent(new StockChangedEvent(
+                linesInLockOrder.stream().map(PurchaseCreationArticleDTO::getArticleId).collect(Collectors.toSet())));
+
+        // Build the response from what is already in memory instead of reading the purchase back
+        PurchaseDetailDTO createdPurchase = purchaseMapper.purchaseDetailToDTO(savedPurchase, purchaseDetails, articlesById);
+
+        // The articles were read before the stock increments. Report each article's stock after all of its lines
+        // in this purchase, so an article bought on two lines shows the same value on both
+        Map<Long, Integer> boughtByArticle = new HashMap<>();
+        validArticles.forEach(article ->
+                boughtByArticle.merge(article.getArticleId(), article.getArticleQuantity(), Integer::sum));
+        createdPurchase.getPurchaseArticles().forEach(line -> {
+            Long articleId = line.getArticle().getArticleId();
+            line.getArticle().setStock(articlesById.get(articleId).getStock() + boughtByArticle.get(articleId));
+        });
+
+        return createdPurchase;
+    }
 
-        // Return the created purchase details
-        return getPurchaseById(newPurchaseId);
+    @Override
+    public PurchaseDetailDTO createPurchase(PurchaseCreationDTO purchase, String idempotencyKey) {
+        // The idempotency service opens the transaction, createPurchase joins it
+        return idempotencyService.execute(
+                IdempotencyService.SCOPE_PURCHASE,
+                idempotencyKey,
+                () -> createPurchase(purchase),
+                PurchaseDetailDTO::getPurchaseId,
+                this::getPurchaseById
+        );
     }
 
     @Override
@@ -120,9 +174,7 @@ public class PurchaseServiceImp implements PurchaseService {
             purchasePage = purchaseRepository.findAllPurchases(criteria, pageable);
         }
 
-        List<PurchaseDTO> purchases = purchasePage.getContent().stream()
-                .map(purchase -> purchaseMapper.purchaseToDTO(purchase))
-                .collect(Collectors.toList());
+        List<PurchaseDTO> purchases = purchaseMapper.purchasesToDTO(purchasePage.getContent());
 
         pagedPurchasesResponse.setPage(purchasePage.getNumber() + 1);
         pagedPurchasesResponse.setPageSize(purchasePage.getSize());
@@ -133,6 +185,33 @@ public class PurchaseServiceImp implements PurchaseService {
             pagedPurchasesResponse.setTotalPages(1);
         }
         pagedPurchasesResponse.setPurchases(purchases);
+        pagedPurchasesResponse.setNextCursor(purchases.isEmpty() ? null : PageCursor.encode(purchases.get(purchases.size() - 1).getPurchaseId()));
+
+        return pagedPurchasesResponse;
+    }
+
+    @Override
+    @Transactional
+    public PurchasesPageDTO getPurchasesAfter(String criteria, String after, Integer pageSize, boolean includeTotal) {
+        PurchasesPageDTO pagedPurchasesResponse = new PurchasesPageDTO();
+        Long afterId = PageCursor.decode(after);
+        boolean hasCriteria = criteria != null && !criteria.isEmpty();
+
+        List<Purchase> purchasePage = hasCriteria
+                ? purchaseRepository.findPurchasesAfter(criteria, afterId, pageSize)
+                : purchaseRepository.findByPurchaseIdLessThanOrderByPurchaseIdDesc(afterId, PageRequest.of(0, pageSize));
+
+        List<PurchaseDTO> purchases = purchaseMapper.purchasesToDTO(purchasePage);
+
+        // Counting is what makes deep pages slow, so it is only done on request
+        if (includeTotal) {
+            long totalRecords = hasCriteria ? purchaseRepository.countPurchases(criteria) : purchaseRepository.count();
+            pagedPurchasesResponse.setTotalRecords(totalRecords);
+            pagedPurchasesResponse.setTotalPages((int) Math.max((totalRecords + pageSize - 1) / pageSize, 1));
+        }
+        pagedPurchasesResponse.setPageSize(pageSize);
+        pagedPurchasesResponse.setPurchases(purchases);
+        pagedPurchasesResponse.setNextCursor(purchases.size() < pageSize ? null : PageCursor.encode(purchases.get(purchases.size() - 1).getPurchaseId()));
 
         return pagedPurchasesResponse;
     }
@@ -140,8 +219,27 @@ public class PurchaseServiceImp implements PurchaseService {
     @Override
     @Transactional
     public PurchaseDetailDTO getPurchaseById(Long id) {
-        Purchase foundPurchase = purchaseRepository.getPurchaseById(id);
-        List<PurchaseDetail> foundPurchaseDetails = purchaseDetailRepository.getAllPurchaseDetails(id);
-        return purchaseMapper.purchaseDetailToDTO(foundPurchase, foundPurchaseDetails);
+        // Two queries: the purchase with its provider and user, then its lines with article, provider and category
+        List<Object[]> foundPurchase = purchaseRepository.findPurchaseWithProviderAndUser(id);
+        if (foundPurchase.isEmpty()) {
+            throw new IllegalArgumentException("Purchase not found");
+        }
+
+        Object[] purchaseRow = foundPurchase.get(0);
+        List<Object[]> foundPurchaseLines = purchaseDetailRepository.findPurchaseLinesWithArticles(id);
+        return purchaseMapper.purchaseDetailToDTO((Purchase) purchaseRow[0], (Provider) purchaseRow[1], (User) purchaseRow[2], foundPurchaseLines);
+    }
+
+    private Map<Long, Article> findArticlesById(List<PurchaseCreationArticleDTO> articles) {
+        Set<Long> articleIds = articles.stream()
+                .map(PurchaseCreationArticleDTO::getArticleId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<Long, Article> articlesById = new HashMap<>(articleIds.size() * 2);
+        for (Article article : articleRepository.findAllById(articleIds)) {
+            articlesById.put(article.getArticleId(), article);
+        }
+        return articlesById;
     }
 }
\ No newline at end of file
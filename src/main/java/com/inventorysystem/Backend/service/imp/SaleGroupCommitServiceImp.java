@@ -0,0 +1,502 @@
+package com.inventorysystem.Backend.service.imp;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventorysystem.Backend.dto.sale.SaleAcceptedDTO;
+import com.inventorysystem.Backend.dto.sale.SaleCreationArticleDTO;
+import com.inventorysystem.Backend.dto.sale.SaleBatchResultDTO;
+import com.inventorysystem.Backend.dto.sale.SaleCreationDTO;
+import com.inventorysystem.Backend.dto.sale.SaleDetailDTO;
+import com.inventorysystem.Backend.dto.sale.SaleWalRecordDTO;
+import com.inventorysystem.Backend.exception.SaleQueueUnavailableException;
+import com.inventorysystem.Backend.model.QueuedSaleOutcome;
+import com.inventorysystem.Backend.repository.ArticleRepository;
+import com.inventorysystem.Backend.repository.QueuedSaleOutcomeRepository;
+import com.inventorysystem.Backend.service.SaleGroupCommitService;
+import com.inventorysystem.Backend.service.SaleService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Optional group-commit pipeline for sales (sale.group-commit.enabled=true).
+ * <p>
+ * Requests are validated, appended to a local write-ahead log (one JSON line per sale) and acknowledged
+ * once the log is fsynced. Appends are queued and written by one flusher thread, which fsyncs once per
+ * batch and then acknowledges every request in it, so concurrent requests share the cost of a flush. A
+ * single applier thread drains the log queue and writes many sales in one database transaction, with
+ * one stock decrement per article for the whole group. The last applied sequence is checkpointed after
+ * every commit and the log is replayed from there on restart.
+ * <p>
+ * Every sale gets an outcome row keyed by log epoch and sequence, written in the same transaction as
+ * the sale: APPLIED with the sale id, or REJECTED with the reason (for example a stock shortage).
+ * Clients poll it by sequence, and replay skips sequences that already have one, so a sale committed
+ * just before a crash is not applied twice. Database errors that may go away are retried instead of
+ * rejecting the sale.
+ */
+@Service
+@ConditionalOnProperty(name = "sale.group-commit.enabled", havingValue = "true")
+public class SaleGroupCommitServiceImp implements SaleGroupCommitService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SaleGroupCommitServiceImp.class);
+
+    private static final String WAL_FILE = "sales.wal";
+    private static final String CHECKPOINT_FILE = "applied.checkpoint";
+    private static final String QUEUED = "QUEUED";
+    private static final int MAX_REASON_LENGTH = 255;
+    private static final long RETRY_DELAY_MS = 1000;
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private QueuedSaleOutcomeRepository outcomeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${sale.group-commit.wal-dir:./sale-wal}")
+    private String walDirectory;
+
+    @Value("${sale.group-commit.max-group-size:256}")
+    private int maxGroupSize;
+
+    @Value("${sale.group-commit.outcome-retention-hours:24}")
+    private long outcomeRetentionHours;
+
+    @Value("${sale.group-commit.ack-timeout-ms:5000}")
+    private long ackTimeoutMillis;
+
+    private final BlockingQueue<WalAppend> appends = new LinkedBlockingQueue<>();
+    private final BlockingQueue<SaleWalRecordDTO> pending = new LinkedBlockingQueue<>();
+    // Held by the flusher while it writes a batch and by the applier while it truncates the drained log
+    private final Object walLock = new Object();
+
+    private Path walPath;
+    private Path checkpointPath;
+    private FileChannel walChannel;
+    private String walEpoch;
+    private volatile long lastSequence;
+    private volatile long appliedSequence;
+    private volatile boolean running;
+    private Thread flusher;
+    private Thread applier;
+
+    // A sale waiting to be written, and the request thread waiting for it to be durable. Whoever claims it first,
+    // the flusher to write it or the request giving up on it, decides whether it is logged
+    private record WalAppend(SaleCreationDTO sale, CompletableFuture<SaleAcceptedDTO> acknowledgement, AtomicBoolean claimed) {
+
+        WalAppend(SaleCreationDTO sale) {
+            this(sale, new CompletableFuture<>(), new AtomicBoolean());
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        Path directory = Paths.get(walDirectory);
+        Files.createDirectories(directory);
+        walPath = directory.resolve(WAL_FILE);
+        checkpointPath = directory.resolve(CHECKPOINT_FILE);
+
+        readCheckpoint();
+        lastSequence = appliedSequence;
+        recoverPendingSales();
+
+        walChannel = FileChannel.open(walPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        running = true;
+        flusher = new Thread(this::runFlusher, "sale-wal-flush");
+        flusher.setDaemon(true);
+        flusher.start();
+        applier = new Thread(this::runApplier, "sale-group-commit");
+        applier.setDaemon(true);
+        applier.start();
+        logger.info("Sale group commit enabled, {} sales pending from the write-ahead log", pending.size());
+    }
+
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        running = false;
+        // The flusher writes what is already queued before it exits, those requests are waiting for it
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        // Anything the flusher did not get to is refused, so no request waits on a thread that is gone
+        List<WalAppend> unwritten = new ArrayList<>();
+        appends.drainTo(unwritten);
+        unwritten.stream().filter(WalAppend::claim).forEach(append -> append.acknowledgement().completeExceptionally(
+                new SaleQueueUnavailableException("Sale group commit is shutting down")));
+        applier.interrupt();
+        applier.join(TimeUnit.SECONDS.toMillis(10));
+        walChannel.close();
+    }
+
+    @Override
+    public SaleAcceptedDTO enqueueSale(SaleCreationDTO sale) {
+        validateSale(sale);
+        if (!running) {
+            throw new SaleQueueUnavailableException("Sale group commit is shutting down");
+        }
+
+        WalAppend append = new WalAppend(sale);
+        appends.add(append);
+        try {
+            return append.acknowledgement().get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (append.claim()) {
+                throw new SaleQueueUnavailableException("Sale was not logged within " + ackTimeoutMillis + " ms, retry later");
+            }
+            // The flusher is already writing it, so the sale may be logged without its sequence reaching the client
+            logger.warn("Sale acknowledgement timed out during its write-ahead log flush");
+            throw new SaleQueueUnavailableException("Write-ahead log flush did not finish within " + ackTimeoutMillis
+                    + " ms, the sale may have been queued");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the write-ahead log", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public SaleAcceptedDTO getQueuedSale(Long sequence) {
+        if (sequence == null || sequence < 1 || sequence > lastSequence) {
+            throw new IllegalArgumentException("Queued sale not found: " + sequence);
+        }
+
+        // Outcomes commit before the checkpoint moves, so a missing outcome below this one was purged
+        long applied = appliedSequence;
+        return outcomeRepository.findById(outcomeKey(sequence))
+                .map(outcome -> new SaleAcceptedDTO(sequence, outcome.getStatus(), outcome.getSaleId(), outcome.getReason()))
+                .orElseGet(() -> {
+                    if (sequence <= applied) {
+                        throw new IllegalArgumentException("Outcome of queued sale " + sequence + " is no longer kept");
+                    }
+                    return new SaleAcceptedDTO(sequence, QUEUED);
+                });
+    }
+
+    @Scheduled(fixedRate = 3600000)
+    public void purgeExpiredOutcomes() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(outcomeRetentionHours);
+        Integer deleted = transactionTemplate.execute(status -> outcomeRepository.deleteCreatedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            logger.info("Purged {} expired queued sale outcomes", deleted);
+        }
+    }
+
+    // Same rule as createSale: lines without a known article or a positive quantity are skipped, and at least one
+    // line must be left. Only whether any article exists is checked here; the applier rejects what is left over
+    private void validateSale(SaleCreationDTO sale) {
+        if (sale.getArticles() == null || sale.getArticles().isEmpty()) {
+            throw new IllegalArgumentException("Sale cannot be empty");
+        }
+
+        Set<Long> articleIds = sale.getArticles().stream()
+                .filter(article -> article.getArticleQuantity() != null && article.getArticleQuantity() >= 1)
+                .map(SaleCreationArticleDTO::getArticleId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (articleIds.isEmpty() || !articleRepository.existsByArticleIdIn(articleIds)) {
+            throw new IllegalArgumentException("No valid articles found in sale");
+        }
+    }
+
+    private void runFlusher() {
+        List<WalAppend> batch = new ArrayList<>(maxGroupSize);
+        while (running || !appends.isEmpty()) {
+            try {
+                WalAppend first = appends.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // Everything that queued up during the previous fsync goes into this one
+                batch.add(first);
+                appends.drainTo(batch, maxGroupSize - 1);
+                // Requests that already gave up are dropped
+                batch.removeIf(append -> !append.claim());
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<WalAppend> batch) {
+        List<SaleWalRecordDTO> records = new ArrayList<>(batch.size());
+        synchronized (walLock) {
+            long sizeBefore = -1;
+            try {
+                sizeBefore = walChannel.size();
+                ByteArrayOutputStream lines = new ByteArrayOutputStream();
+                long sequence = lastSequence;
+                for (WalAppend append : batch) {
+                    SaleWalRecordDTO record = new SaleWalRecordDTO(++sequence, append.sale());
+                    lines.write(objectMapper.writeValueAsBytes(record));
+                    lines.write('\n');
+                    records.add(record);
+                }
+
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+                while (buffer.hasRemaining()) {
+                    walChannel.write(buffer);
+                }
+                // One fsync makes the whole batch durable
+                walChannel.force(false);
+                lastSequence = sequence;
+            } catch (IOException e) {
+                // None of the batch was acknowledged, so none of it may be replayed either
+                discardFrom(sizeBefore);
+                UncheckedIOException failure = new UncheckedIOException("Could not append sale to the write-ahead log", e);
+                batch.forEach(append -> append.acknowledgement().completeExceptionally(failure));
+                return;
+            }
+            pending.addAll(records);
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).acknowledgement().complete(new SaleAcceptedDTO(records.get(i).getSequence(), QUEUED));
+        }
+    }
+
+    private void discardFrom(long size) {
+        if (size < 0) {
+            return;
+        }
+        try {
+            walChannel.truncate(size);
+        } catch (IOException e) {
+            logger.error("Could not discard a failed write-ahead log append: {}", e.getMessage(), e);
+        }
+    }
+
+    private void runApplier() {
+        List<SaleWalRecordDTO> group = new ArrayList<>(maxGroupSize);
+        while (running) {
+            try {
+                if (group.isEmpty()) {
+                    SaleWalRecordDTO first = pending.poll(200, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    group.add(first);
+                    pending.drainTo(group, maxGroupSize - 1);
+                }
+
+                applyGroup(group);
+                long lastApplied = group.get(group.size() - 1).getSequence();
+                group.clear();
+                writeCheckpoint(lastApplied);
+                truncateWhenDrained();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                logger.error("Could not checkpoint the sale write-ahead log: {}", e.getMessage(), e);
+            } catch (RuntimeException e) {
+                // Only errors that may go away get here; keep the group and try it again
+                logger.error("Could not apply sale group {}-{}, retrying: {}",
+                        group.get(0).getSequence(), group.get(group.size() - 1).getSequence(), e.getMessage());
+                try {
+                    Thread.sleep(RETRY_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void applyGroup(List<SaleWalRecordDTO> group) {
+        try {
+            // One transaction and one commit for the whole group, outcomes included. The stock of each article is
+            // decremented once by what the whole group sold; sales that do not fit are rejected without failing the rest
+            transactionTemplate.executeWithoutResult(status -> {
+                List<SaleWalRecordDTO> records = unrecorded(group);
+                List<SaleBatchResultDTO> results = saleService.createSales(
+                        records.stream().map(SaleWalRecordDTO::getSale).collect(Collectors.toList()));
+
+                List<QueuedSaleOutcome> outcomes = new ArrayList<>(records.size());
+                for (int i = 0; i < records.size(); i++) {
+                    SaleBatchResultDTO result = results.get(i);
+                    if (result.getSaleId() != null) {
+                        outcomes.add(outcome(records.get(i), QueuedSaleOutcome.APPLIED, result.getSaleId(), null));
+                    } else {
+                        logger.warn("Queued sale {} was rejected: {}", records.get(i).getSequence(), result.getError());
+                        outcomes.add(outcome(records.get(i), QueuedSaleOutcome.REJECTED, null, result.getError()));
+                    }
+                }
+                outcomeRepository.insertOutcomes(outcomes);
+            });
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                throw e;
+            }
+            // Only an unexpected failure gets here; retry the sales one by one so only the failing ones are rejected
+            logger.warn("Sale group {}-{} was rolled back ({}), applying its sales one by one",
+                    group.get(0).getSequence(), group.get(group.size() - 1).getSequence(), e.getMessage());
+            group.forEach(this::applySale);
+        }
+    }
+
+    // One sale in its own transaction; a sale that cannot be applied is recorded as rejected with the reason
+    private void applySale(SaleWalRecordDTO record) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (unrecorded(List.of(record)).isEmpty()) {
+                    return;
+                }
+                SaleDetailDTO createdSale = saleService.createSale(record.getSale());
+                outcomeRepository.insertOutcomes(List.of(
+                        outcome(record, QueuedSaleOutcome.APPLIED, createdSale.getSaleId(), null)));
+            });
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                throw e;
+            }
+            logger.warn("Queued sale {} was rejected: {}", record.getSequence(), e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> outcomeRepository.insertOutcomes(List.of(
+                    outcome(record, QueuedSaleOutcome.REJECTED, null, rejectionReason(e)))));
+        }
+    }
+
+    private List<SaleWalRecordDTO> unrecorded(List<SaleWalRecordDTO> records) {
+        Set<String> recordedKeys = new HashSet<>(outcomeRepository.findRecordedKeys(
+                records.stream().map(record -> outcomeKey(record.getSequence())).collect(Collectors.toList())));
+        if (recordedKeys.isEmpty()) {
+            return records;
+        }
+        return records.stream()
+                .filter(record -> !recordedKeys.contains(outcomeKey(record.getSequence())))
+                .collect(Collectors.toList());
+    }
+
+    private QueuedSaleOutcome outcome(SaleWalRecordDTO record, String status, Long saleId, String reason) {
+        return new QueuedSaleOutcome(outcomeKey(record.getSequence()), status, saleId, reason, LocalDateTime.now());
+    }
+
+    private String outcomeKey(long sequence) {
+        return walEpoch + "-" + sequence;
+    }
+
+    private static String rejectionReason(RuntimeException e) {
+        String reason = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        return reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason;
+    }
+
+    // Lost connections, lock timeouts and the like: the same sale may well succeed a moment later
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private void recoverPendingSales() throws IOException {
+        if (!Files.exists(walPath)) {
+            return;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(walPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    SaleWalRecordDTO record = objectMapper.readValue(line, SaleWalRecordDTO.class);
+                    lastSequence = Math.max(lastSequence, record.getSequence());
+                    if (record.getSequence() > appliedSequence) {
+                        pending.add(record);
+                    }
+                } catch (JsonProcessingException e) {
+                    // Only the last line can be torn by a crash in the middle of an append; it was never acknowledged
+                    logger.warn("Skipping unreadable write-ahead log entry: {}", e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private void readCheckpoint() throws IOException {
+        if (Files.exists(checkpointPath)) {
+            String[] checkpoint = Files.readString(checkpointPath, StandardCharsets.UTF_8).trim().split(" ");
+            walEpoch = checkpoint[0];
+            appliedSequence = Long.parseLong(checkpoint[1]);
+        } else {
+            // A fresh epoch keeps outcome keys unique if the log directory is ever wiped
+            walEpoch = UUID.randomUUID().toString().substring(0, 8);
+            appliedSequence = 0;
+            writeCheckpoint(0);
+        }
+    }
+
+    private void writeCheckpoint(long sequence) throws IOException {
+        Path temporary = checkpointPath.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        Files.writeString(temporary, walEpoch + " " + sequence, StandardCharsets.UTF_8);
+        Files.move(temporary, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        appliedSequence = sequence;
+    }
+
+    private void truncateWhenDrained() throws IOException {
+        synchronized (walLock) {
+            if (pending.isEmpty() && appliedSequence == lastSequence) {
+                walChannel.truncate(0);
+            }
+        }
+    }
+}
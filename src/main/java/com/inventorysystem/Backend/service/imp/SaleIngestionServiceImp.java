@@ -0,0 +1,111 @@
+package com.inventorysystem.Backend.service.imp;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventorysystem.Backend.dto.sale.SaleBatchResultDTO;
+import com.inventorysystem.Backend.dto.sale.SaleCreationDTO;
+import com.inventorysystem.Backend.dto.sale.SaleDetailDTO;
+import com.inventorysystem.Backend.service.SaleIngestionService;
+import com.inventorysystem.Backend.service.SaleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class SaleIngestionServiceImp implements SaleIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SaleIngestionServiceImp.class);
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${sale.batch.chunk-size:200}")
+    private int chunkSize;
+
+    @Override
+    public void ingestSales(InputStream payload, OutputStream results) throws IOException {
+        List<SaleCreationDTO> chunk = new ArrayList<>(chunkSize);
+        int firstTicket = 1;
+
+        // Tickets are parsed one at a time, so only the current chunk is ever held in memory
+        try (MappingIterator<SaleCreationDTO> tickets = objectMapper.readerFor(SaleCreationDTO.class).readValues(payload)) {
+            while (tickets.hasNextValue()) {
+                chunk.add(tickets.nextValue());
+
+                if (chunk.size() == chunkSize) {
+                    writeResults(createChunk(chunk, firstTicket), results);
+                    firstTicket += chunk.size();
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // Malformed input: keep what was parsed so far, then report where the stream broke
+            logger.error("Malformed sale batch payload after ticket {}: {}", firstTicket + chunk.size() - 1, e.getOriginalMessage());
+            writeResults(createChunk(chunk, firstTicket), results);
+            writeResults(List.of(SaleBatchResultDTO.failed(firstTicket + chunk.size(), "Malformed ticket: " + e.getOriginalMessage())), results);
+            return;
+        }
+
+        writeResults(createChunk(chunk, firstTicket), results);
+    }
+
+    private List<SaleBatchResultDTO> createChunk(List<SaleCreationDTO> chunk, int firstTicket) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            // One transaction for the whole chunk; createSale joins it
+            return transactionTemplate.execute(status -> {
+                List<SaleBatchResultDTO> created = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    SaleDetailDTO sale = saleService.createSale(chunk.get(i));
+                    created.add(SaleBatchResultDTO.created(firstTicket + i, sale.getSaleId()));
+                }
+                return created;
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Sale chunk starting at ticket {} was rolled back ({}), retrying its tickets one by one",
+                    firstTicket, e.getMessage());
+            return createTicketsOneByOne(chunk, firstTicket);
+        }
+    }
+
+    private List<SaleBatchResultDTO> createTicketsOneByOne(List<SaleCreationDTO> chunk, int firstTicket) {
+        List<SaleBatchResultDTO> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            SaleCreationDTO ticket = chunk.get(i);
+            try {
+                SaleDetailDTO sale = transactionTemplate.execute(status -> saleService.createSale(ticket));
+                results.add(SaleBatchResultDTO.created(firstTicket + i, sale.getSaleId()));
+            } catch (RuntimeException e) {
+                results.add(SaleBatchResultDTO.failed(firstTicket + i, e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private void writeResults(List<SaleBatchResultDTO> chunkResults, OutputStream results) throws IOException {
+        for (SaleBatchResultDTO result : chunkResults) {
+            results.write(objectMapper.writeValueAsBytes(result));
+            results.write('\n');
+        }
+        results.flush();
+    }
+}
@@ -1,26 +1,40 @@
 package com.inventorysystem.Backend.service.imp;
 
+import com.inventorysystem.Backend.cache.ArticleCache;
 import com.inventorysystem.Backend.dto.sale.*;
+import com.inventorysystem.Backend.event.StockChangedEvent;
+import com.inventorysystem.Backend.exception.InsufficientStockException;
 import com.inventorysystem.Backend.mapper.SaleMapper;
 import com.inventorysystem.Backend.model.Article;
+import com.inventorysystem.Backend.model.Customer;
 import com.inventorysystem.Backend.model.Sale;
 import com.inventorysystem.Backend.model.SaleDetail;
+import com.inventorysystem.Backend.model.User;
 import com.inventorysystem.Backend.repository.ArticleRepository;
 import com.inventorysystem.Backend.repository.SaleDetailRepository;
 import com.inventorysystem.Backend.repository.SaleRepository;
+import com.inventorysystem.Backend.search.SaleSearchIndex;
+import com.inventorysystem.Backend.service.IdempotencyService;
 import com.inventorysystem.Backend.service.SaleService;
+import com.inventorysystem.Backend.util.PageCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,6 +42,8 @@ public class SaleServiceImp implements SaleService {
 
     private static final Logger logger = LoggerFactory.getLogger(SaleServiceImp.class);
 
+    private static final Long NO_MATCH = -1L;
+
     @Autowired
     private SaleRepository saleRepository;
 
@@ -37,9 +53,24 @@ public class SaleServiceImp implements SaleService {
     @Autowired
     private ArticleRepository articleRepository;
 
+    @Autowired
+    private ArticleCache articleCache;
+
     @Autowired
     private SaleMapper saleMapper;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private SaleSearchIndex saleSearchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${sale.search.max-matched-parties:1000}")
+    private int maxMatchedParties;
+
     @Override
     @Transactional
     public SaleDetailDTO createSale(SaleCreationDTO sale) {
@@ -48,18 +79,24 @@ public class SaleServiceImp implements SaleService {
             throw new IllegalArgumentException("Sale cannot be empty");
         }
 
+        // Resolve every article of the basket in a single query
+        Map<Long, Article> articlesById = findArticlesById(sale.getArticles());
+
         List<SaleCreationArticleDTO> validArticles = new ArrayList<>();
+        List<Integer> validLineNumbers = new ArrayList<>();
         Long totalSalePrice = 0L;
 
         // Validate articles and calculate total price
-        for (SaleCreationArticleDTO article : sale.getArticles()) {
-            Article foundArticle = articleRepository.getArticleById(article.getArticleId());
-            if (foundArticle == null || article.getArticleQuantity() < 1) {
+        for (int i = 0; i < sale.getArticles().size(); i++) {
+            SaleCreationArticleDTO article = sale.getArticles().get(i);
+            Article foundArticle = articlesById.get(article.getArticleId());
+            if (foundArticle == null || article.getArticleQuantity() == null || article.getArticleQuantity() < 1) {
                 logger.warn("Invalid article id or quantity: {}", article);
                 continue;
             }
 
             validArticles.add(article);
+            validLineNumbers.add(i + 1);
             totalSalePrice += foundArticle.getSalePrice() * article.getArticleQuantity();
         }
 
@@ -68,6 +105,32 @@ public class SaleServiceImp implements SaleService {
             throw new IllegalArgumentException("No valid articles found in sale");
         }
 
+        // Reserve stock line by line with a guarded UPDATE; the first short line aborts the whole sale.
+        // Rows are locked in article id order, so concurrent sales sharing articles cannot deadlock.
+        // Lines are walked by index so a shortage reports the request line it came from, even for repeated articles
+        List<Integer> linesInLockOrder = new ArrayList<>(validArticles.size());
+        for (int i = 0; i < validArticles.size(); i++) {
+            linesInLockOrder.add(i);
+        }
+        linesInLockOrder.sort(Comparator.comparing(i -> validArticles.get(i).getArticleId()));
+        for (int index : linesInLockOrder) {
+            SaleCreationArticleDTO article = validArticles.get(index);
+            int updatedRows = articleRepository.decrementStock(article.getArticleId(), article.getArticleQuantity());
+            articleCache.invalidate(article.getArticleId());
+            if (updatedRows == 0) {
+                int line = validLineNumbers.get(index);
+                logger.warn("Insufficient stock for article {} on line {}", article.getArticleId(), line);
+                throw new InsufficientStockException(new StockShortageDTO(
+                        line,
+                        article.getArticleId(),
+                        article.getArticleQuantity(),
+                        "Not enough stock available"
+                ));
+            }
+        }
+        eventPublisher.publishEvent(new StockChangedEvent(
+                validArticles.stream().map(SaleCreationArticleDTO::getArticleId).collect(Collectors.toSet())));
+
         // Create the Sale object
         Sale saleEntity = new Sale();
         saleEntity.setCustomerId(sale.getCustomerId());
@@ -77,65 +140,276 @@ public class SaleServiceImp implements SaleService {
         Sale savedSale = saleRepository.save(saleEntity);
         Long newSaleId = savedSale.getSaleId();
 
-        // Create sale details and update article stock
+        // Create sale details, written in one batch
+        List<SaleDetail> saleDetails = new ArrayList<>(validArticles.size());
         for (SaleCreationArticleDTO article : validArticles) {
-            Article foundArticle = articleRepository.getArticleById(article.getArticleId());
-            Long totalValue = (long) (foundArticle.getSalePrice() * article.getArticleQuantity());
+            Article foundArticle = articlesById.get(article.getArticleId());
+            Integer totalValue = foundArticle.getSalePrice() * article.getArticleQuantity();
 
-            saleDetailRepository.createSaleDetail(
+            saleDetails.add(new SaleDetail(
                     newSaleId,
                     foundArticle.getArticleId(),
                     article.getArticleQuantity(),
                     totalValue
-            );
+            ));
+        }
+        saleDetailRepository.createSaleDetails(saleDetails);
+
+        // Build the response from what is already in memory instead of reading the sale back
+        SaleDetailDTO createdSale = saleMapper.saleDetailToDTO(savedSale, saleDetails, articlesById);
+
+        // The articles were read before the guarded decrements. Report each article's stock after all of its lines
+        // in this sale, so an article sold on two lines shows the same value on both
+        Map<Long, Integer> soldByArticle = new HashMap<>();
+        validArticles.forEach(article ->
+                soldByArticle.merge(article.getArticleId(), article.getArticleQuantity(), Integer::sum));
+        createdSale.getSaleArticles().forEach(line -> {
+            Long articleId = line.getArticle().getArticleId();
+            line.getArticle().setStock(articlesById.get(articleId).getStock() - soldByArticle.get(articleId));
+        });
+
+        return createdSale;
+    }
+
+    @Override
+    public SaleDetailDTO createSale(SaleCreationDTO sale, String idempotencyKey) {
+        // The idempotency service opens the transaction, createSale joins it
+        return idempotencyService.execute(
+                IdempotencyService.SCOPE_SALE,
+                idempotencyKey,
+                () -> createSale(sale),
+                SaleDetailDTO::getSaleId,
+                this::getSaleById
+        );
+    }
+
+    @Override
+    @Transactional
+    public List<SaleBatchResultDTO> createSales(List<SaleCreationDTO> sales) {
+        // Lock every article of the batch up front, in id order, and check the sales against that stock in memory
+        Set<Long> articleIds = sales.stream()
+                .flatMap(sale -> sale.getArticles().stream())
+                .map(SaleCreationArticleDTO::getArticleId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Article> articlesById = new HashMap<>(articleIds.size() * 2);
+        Map<Long, Integer> remainingStock = new HashMap<>(articleIds.size() * 2);
+        if (!articleIds.isEmpty()) {
+            for (Article article : articleRepository.findAllByIdForUpdate(articleIds)) {
+                articlesById.put(article.getArticleId(), article);
+                remainingStock.put(article.getArticleId(), article.getStock());
+            }
+        }
+
+        String[] rejections = new String[sales.size()];
+        Sale[] saleEntities = new Sale[sales.size()];
+        List<List<SaleCreationArticleDTO>> saleLines = new ArrayList<>(sales.size());
+        Map<Long, Integer> soldByArticle = new TreeMap<>();
+
+        for (int i = 0; i < sales.size(); i++) {
+            SaleCreationDTO sale = sales.get(i);
+            List<SaleCreationArticleDTO> validArticles = new ArrayList<>();
+            Map<Long, Integer> takenByArticle = new HashMap<>();
+            long totalSalePrice = 0;
+            saleLines.add(validArticles);
+
+            for (int line = 1; line <= sale.getArticles().size() && rejections[i] == null; line++) {
+                SaleCreationArticleDTO article = sale.getArticles().get(line - 1);
+                Article foundArticle = articlesById.get(article.getArticleId());
+                if (foundArticle == null || article.getArticleQuantity() == null || article.getArticleQuantity() < 1) {
+                    logger.warn("Invalid article id or quantity: {}", article);
+                    continue;
+                }
+
+                int taken = takenByArticle.getOrDefault(article.getArticleId(), 0) + article.getArticleQuantity();
+                if (taken > remainingStock.get(article.getArticleId())) {
+                    rejections[i] = new InsufficientStockException(new StockShortageDTO(
+                            line,
+                            article.getArticleId(),
+                            article.getArticleQuantity(),
+                            "Not enough stock available"
+                    )).getMessage();
+                }
+                takenByArticle.put(article.getArticleId(), taken);
+                validArticles.add(article);
+                totalSalePrice += (long) foundArticle.getSalePrice() * article.getArticleQuantity();
+            }
+
+            if (rejections[i] == null && validArticles.isEmpty()) {
+                rejections[i] = sale.getArticles().isEmpty() ? "Sale cannot be empty" : "No valid articles found in sale";
+            }
+            if (rejections[i] != null) {
+                continue;
+            }
 
-            // Update article stock
-            int newStock = foundArticle.getStock() - article.getArticleQuantity();
-            foundArticle.setStock(Math.max(newStock, 0)); // Ensure stock is not negative
-            articleRepository.save(foundArticle);
+            // The sale fits: its units are no longer available to the sales after it
+            takenByArticle.forEach((articleId, quantity) -> {
+                remainingStock.merge(articleId, -quantity, Integer::sum);
+                soldByArticle.merge(articleId, quantity, Integer::sum);
+            });
+            Sale saleEntity = new Sale();
+            saleEntity.setCustomerId(sale.getCustomerId());
+            saleEntity.setUserId(sale.getSessionUserId());
+            saleEntity.setTotalValue((int) totalSalePrice);
+            saleEntities[i] = saleEntity;
         }
 
-        // Return sale details
-        return getSaleById(newSaleId);
+        // One guarded decrement per article for the whole batch; the rows are locked, so none can come up short
+        List<Long> shortArticles = articleRepository.decrementStocks(soldByArticle);
+        if (!shortArticles.isEmpty()) {
+            throw new IllegalStateException("Stock changed under the lock for articles " + shortArticles);
+        }
+        soldByArticle.keySet().forEach(articleCache::invalidate);
+
+        List<Sale> savedSales = saleRepository.saveAll(Arrays.stream(saleEntities).filter(Objects::nonNull).collect(Collectors.toList()));
+        List<SaleDetail> saleDetails = new ArrayList<>();
+        List<SaleBatchResultDTO> results = new ArrayList<>(sales.size());
+        int saved = 0;
+        for (int i = 0; i < sales.size(); i++) {
+            if (rejections[i] != null) {
+                results.add(SaleBatchResultDTO.failed(i + 1, rejections[i]));
+                continue;
+            }
+
+            Long newSaleId = savedSales.get(saved++).getSaleId();
+            for (SaleCreationArticleDTO article : saleLines.get(i)) {
+                Article foundArticle = articlesById.get(article.getArticleId());
+                saleDetails.add(new SaleDetail(
+                        newSaleId,
+                        foundArticle.getArticleId(),
+                        article.getArticleQuantity(),
+                        foundArticle.getSalePrice() * article.getArticleQuantity()
+                ));
+            }
+            results.add(SaleBatchResultDTO.created(i + 1, newSaleId));
+        }
+        saleDetailRepository.createSaleDetails(saleDetails);
+
+        if (!soldByArticle.isEmpty()) {
+            eventPublisher.publishEvent(new StockChangedEvent(soldByArticle.keySet()));
+        }
+        return results;
     }
 
     @Override
     @Transactional
-    public SalesPageDTO getAllSales(String criteria, Integer page, Integer pageSize) {
+    public SalesPageDTO getAllSales(String criteria, Integer page, Integer pageSize, boolean includeTotal) {
         SalesPageDTO pagedSalesResponse = new SalesPageDTO();
+        boolean hasCriteria = criteria != null && !criteria.isEmpty();
+        Long saleId = hasCriteria ? searchedSaleId(criteria) : null;
+        Set<Long> customerIds = hasCriteria ? matchedIds(saleSearchIndex.findCustomerIds(criteria), "customers") : null;
+        Set<Long> userIds = hasCriteria ? matchedIds(saleSearchIndex.findUserIds(criteria), "users") : null;
 
-        Page<Sale> salePage;
-        Pageable pageable = PageRequest.of(page - 1, pageSize, Sort.by("saleId").descending());
-
-        if (criteria == null || criteria.isEmpty()) {
-            salePage = saleRepository.findAll(pageable);
+        List<Sale> salePage;
+        if (hasCriteria) {
+            // Every seek has to return the skipped rows too, so the controller caps how deep this can go
+            int offset = (page - 1) * pageSize;
+            List<Long> saleIds = saleRepository.searchSaleIds(saleId, customerIds, userIds, Long.MAX_VALUE, offset + pageSize);
+            salePage = findSalesById(saleIds.subList(Math.min(offset, saleIds.size()), saleIds.size()));
         } else {
-            salePage = saleRepository.findAllSales(criteria, pageable); // Assuming you have a custom query for sales
+            salePage = saleRepository.findBySaleIdLessThanOrderBySaleIdDesc(Long.MAX_VALUE, PageRequest.of(page - 1, pageSize));
         }
 
-        List<SaleDTO> sales = salePage.getContent().stream()
-                .map(sale -> saleMapper.saleToDTO(sale))
-                .collect(Collectors.toList());
+        List<SaleDTO> sales = saleMapper.salesToDTO(salePage);
 
-        pagedSalesResponse.setPage(salePage.getNumber() + 1);
-        pagedSalesResponse.setPageSize(salePage.getSize());
-        pagedSalesResponse.setTotalRecords(salePage.getTotalElements());
-        pagedSalesResponse.setTotalPages(salePage.getTotalPages() > 0 ? salePage.getTotalPages() : 1);
+        pagedSalesResponse.setPage(page);
+        setTotal(pagedSalesResponse, includeTotal, hasCriteria, saleId, customerIds, userIds, pageSize);
+        pagedSalesResponse.setPageSize(pageSize);
         pagedSalesResponse.setSales(sales);
+        pagedSalesResponse.setNextCursor(sales.isEmpty() ? null : PageCursor.encode(sales.get(sales.size() - 1).getSaleId()));
 
         return pagedSalesResponse;
     }
 
+    @Override
+    @Transactional
+    public SalesPageDTO getSalesAfter(String criteria, String after, Integer pageSize, boolean includeTotal) {
+        SalesPageDTO pagedSalesResponse = new SalesPageDTO();
+        Long afterId = PageCursor.decode(after);
+        boolean hasCriteria = criteria != null && !criteria.isEmpty();
+        Long saleId = hasCriteria ? searchedSaleId(criteria) : null;
+        Set<Long> customerIds = hasCriteria ? matchedIds(saleSearchIndex.findCustomerIds(criteria), "customers") : null;
+        Set<Long> userIds = hasCriteria ? matchedIds(saleSearchIndex.findUserIds(criteria), "users") : null;
+
+        List<Sale> salePage = hasCriteria
+                ? findSalesById(saleRepository.searchSaleIds(saleId, customerIds, userIds, afterId, pageSize))
+                : saleRepository.findBySaleIdLessThanOrderBySaleIdDesc(afterId, PageRequest.of(0, pageSize));
+
+        List<SaleDTO> sales = saleMapper.salesToDTO(salePage);
+
+        setTotal(pagedSalesResponse, includeTotal, hasCriteria, saleId, customerIds, userIds, pageSize);
+        pagedSalesResponse.setPageSize(pageSize);
+        pagedSalesResponse.setSales(sales);
+        pagedSalesResponse.setNextCursor(sales.size() < pageSize ? null : PageCursor.encode(sales.get(sales.size() - 1).getSaleId()));
+
+        return pagedSalesResponse;
+    }
+
+    // Counting is what makes deep pages and broad searches slow, so it is only done on request
+    private void setTotal(SalesPageDTO pagedSalesResponse, boolean includeTotal, boolean hasCriteria, Long saleId,
+                          Set<Long> customerIds, Set<Long> userIds, Integer pageSize) {
+        if (!includeTotal) {
+            return;
+        }
+        long totalRecords = hasCriteria ? saleRepository.countSales(saleId, customerIds, userIds) : saleRepository.count();
+        pagedSalesResponse.setTotalRecords(totalRecords);
+        pagedSalesResponse.setTotalPages((int) Math.max((totalRecords + pageSize - 1) / pageSize, 1));
+    }
+
+    // Loads a page of sales by primary key, newest first like the ids
+    private List<Sale> findSalesById(List<Long> saleIds) {
+        if (saleIds.isEmpty()) {
+            return List.of();
+        }
+        List<Sale> sales = new ArrayList<>(saleRepository.findAllById(saleIds));
+        sales.sort(Comparator.comparing(Sale::getSaleId).reversed());
+        return sales;
+    }
+
     @Override
     @Transactional
     public SaleDetailDTO getSaleById(Long id) {
-        Sale foundSale = saleRepository.getSaleById(id);
-        if (foundSale == null) {
+        // Two queries: the sale with its customer and user, then its lines with article, provider and category
+        List<Object[]> foundSale = saleRepository.findSaleWithCustomerAndUser(id);
+        if (foundSale.isEmpty()) {
             logger.error("Sale not found with id: {}", id);
             throw new IllegalArgumentException("Sale not found");
         }
 
-        List<SaleDetail> foundSaleDetails = saleDetailRepository.getAllSaleDetails(id);
-        return saleMapper.saleDetailToDTO(foundSale, foundSaleDetails);
+        Object[] saleRow = foundSale.get(0);
+        List<Object[]> foundSaleLines = saleDetailRepository.findSaleLinesWithArticles(id);
+        return saleMapper.saleDetailToDTO((Sale) saleRow[0], (Customer) saleRow[1], (User) saleRow[2], foundSaleLines);
+    }
+
+    // A search term only matches a sale id when it is the whole id
+    private Long searchedSaleId(String criteria) {
+        try {
+            return Long.valueOf(criteria.trim());
+        } catch (NumberFormatException e) {
+            return NO_MATCH;
+        }
+    }
+
+    // IN () is not valid SQL, so an empty match set is replaced by an id that never exists. A term matching more
+    // parties than the cap is too broad to search by, so those parties are left out and only the sale id is matched
+    private Set<Long> matchedIds(Set<Long> ids, String parties) {
+        if (ids.size() > maxMatchedParties) {
+            logger.warn("Sale search matches {} {}, searching by sale id only", ids.size(), parties);
+            return Set.of(NO_MATCH);
+        }
+        return ids.isEmpty() ? Set.of(NO_MATCH) : ids;
+    }
+
+    private Map<Long, Article> findArticlesById(List<SaleCreationArticleDTO> articles) {
+        Set<Long> articleIds = articles.stream()
+                .map(SaleCreationArticleDTO::getArticleId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<Long, Article> articlesById = new HashMap<>(articleIds.size() * 2);
+        for (Article article : articleRepository.findAllById(articleIds)) {
+            articlesById.put(article.getArticleId(), article);
+        }
+        return articlesById;
     }
 }
@@ -1,21 +1,45 @@
 package com.inventorysystem.Backend.service.imp;
 
+import com.inventorysystem.Backend.cache.ArticleCache;
+import com.inventorysystem.Backend.event.StockChangedEvent;
 import com.inventorysystem.Backend.model.Stock;
+import com.inventorysystem.Backend.repository.ArticleRepository;
 import com.inventorysystem.Backend.repository.StockRepository;
 import com.inventorysystem.Backend.service.StockService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
 public class StockServiceImp implements StockService {
 
+    private static final Logger logger = LoggerFactory.getLogger(StockServiceImp.class);
+
     @Autowired
     private StockRepository stockRepository;
 
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ArticleCache articleCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
+    @Transactional
     public boolean sellStock(Long articleId, int quantityToSell) {
+        // The article's stock is the total of its lots, so it is taken first with the guarded decrement
+        if (articleRepository.decrementStock(articleId, quantityToSell) == 0) {
+            return false;  // Not enough stock, nothing changed
+        }
+
         // Retrieve stock for the article sorted by FIFO (oldest first)
         List<Stock> stockList = stockRepository.findStocksForArticle(articleId);
 
@@ -38,8 +62,15 @@ public class StockServiceImp implements StockService {
             }
         }
 
-        // Return true if all quantity was sold, otherwise return false
-        return quantitySold >= quantityToSell;
+        if (quantitySold < quantityToSell) {
+            // The lots hold less than the article's stock; the transaction rolls back the decrement
+            logger.error("Stock lots of article {} hold {} of the {} units sold", articleId, quantitySold, quantityToSell);
+            throw new IllegalStateException("Stock lots of article " + articleId + " do not match its stock");
+        }
+
+        articleCache.invalidate(articleId);
+        eventPublisher.publishEvent(new StockChangedEvent(List.of(articleId)));
+        return true;
     }
 
     @Override
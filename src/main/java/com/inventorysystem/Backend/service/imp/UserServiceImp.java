@@ -5,6 +5,7 @@ import com.inventorysystem.Backend.mapper.UserMapper;
 import com.inventorysystem.Backend.model.User;
 import com.inventorysystem.Backend.repository.UserRepository;
 import com.inventorysystem.Backend.repository.specifications.UserSpecifications;
+import com.inventorysystem.Backend.search.SaleSearchIndex;
 import com.inventorysystem.Backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -14,6 +15,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -30,6 +33,9 @@ public class UserServiceImp implements UserService {
     @Autowired
     BCryptPasswordEncoder passwordEncoder;
 
+    @Autowired
+    SaleSearchIndex saleSearchIndex;
+
     @Override
     public UserDTO userLogin(LoginDTO loginData) {
         User user = userRepository.findByEmail(loginData.getEmail());
@@ -94,6 +100,8 @@ public class UserServiceImp implements UserService {
                 userData.getEmail(),
                 userData.getAdmin()
         );
+        // A rolled back user must not become searchable
+        afterCommit(() -> saleSearchIndex.putUser(newUserId, userData.getName(), userData.getUsername()));
         return getUserById(newUserId);
     }
 
@@ -133,6 +141,7 @@ public class UserServiceImp implements UserService {
                 foundUser.getEmail(),
                 foundUser.getAdmin()
         );
+        afterCommit(() -> saleSearchIndex.putUser(foundUser.getUserId(), foundUser.getName(), foundUser.getUsername()));
 
         // Call class method for get by user id
         return getUserById(foundUser.getUserId());
@@ -146,4 +155,17 @@ public class UserServiceImp implements UserService {
         User updatedUser = userRepository.save(foundUser);
         return userMapper.userToDTO(updatedUser);
     }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
@@ -0,0 +1,62 @@
+package com.inventorysystem.Backend.controller;
+
+import com.inventorysystem.Backend.dto.sale.SaleCreationDTO;
+import com.inventorysystem.Backend.dto.sale.StockShortageDTO;
+import com.inventorysystem.Backend.exception.InsufficientStockException;
+import com.inventorysystem.Backend.exception.SaleQueueUnavailableException;
+import com.inventorysystem.Backend.service.SaleGroupCommitService;
+import com.inventorysystem.Backend.service.SaleService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class SaleControllerTests {
+
+    @Mock
+    private SaleService saleService;
+
+    @Mock
+    private SaleGroupCommitService saleGroupCommitService;
+
+    @InjectMocks
+    private SaleController saleController;
+
+    @Test
+    void shortageIsAConflictNamingTheLine() throws Exception {
+        when(saleService.createSale(any(SaleCreationDTO.class))).thenThrow(new InsufficientStockException(
+                new StockShortageDTO(2, 7L, 5, "Not enough stock available")));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(saleController).build();
+
+        mockMvc.perform(post("/sale")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerId\":1,\"sessionUserId\":1,\"articles\":[{\"articleId\":7,\"articleQuantity\":5}]}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.line").value(2))
+                .andExpect(jsonPath("$.articleId").value(7))
+                .andExpect(jsonPath("$.requestedQuantity").value(5));
+    }
+
+    @Test
+    void queuedSaleNotAcknowledgedInTimeIsServiceUnavailable() throws Exception {
+        when(saleGroupCommitService.enqueueSale(any(SaleCreationDTO.class)))
+                .thenThrow(new SaleQueueUnavailableException("Sale was not logged within 5000 ms, retry later"));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(saleController).build();
+
+        mockMvc.perform(post("/sale/queued")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerId\":1,\"sessionUserId\":1,\"articles\":[{\"articleId\":7,\"articleQuantity\":5}]}"))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
@@ -0,0 +1,87 @@
+package com.inventorysystem.Backend.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArticleSearchIndexTests {
+
+    private ArticleSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ArticleSearchIndex();
+        index.put(1L, "Paracetamol 500mg", "Genfar", 10L);
+        index.put(2L, "Ibuprofeno 400mg", "MK", 10L);
+        index.put(3L, "Paracetamol 500mg", "La Sante", 20L);
+        index.put(4L, "Jarabe para la tos", "Paracetamol Labs", 20L);
+        index.put(5L, "Acetaminofen infantil", "MK", 10L);
+    }
+
+    @Test
+    void exactMatchesAreRankedByFieldThenNewestFirst() {
+        // Name prefix (3, then 1) before a brand prefix (4)
+        assertEquals(List.of(3L, 1L, 4L), index.search("paracetamol", null));
+        assertEquals(List.of(5L, 2L), index.search("MK", null));
+    }
+
+    @Test
+    void termThatIsAnIdComesFirst() {
+        assertEquals(2L, index.search("2", null).get(0));
+    }
+
+    @Test
+    void searchIsLimitedToTheProvider() {
+        assertEquals(List.of(1L), index.search("paracetamol", 10L));
+        assertEquals(List.of(4L, 3L), index.fuzzySearch("paracetmol", 20L));
+    }
+
+    @Test
+    void fuzzySearchToleratesTyposClosestFirst() {
+        // One deletion in the name of 1 and 3 and in the brand of 4
+        assertEquals(List.of(4L, 3L, 1L), index.fuzzySearch("paracetmol", null));
+        // Substitution inside a longer name, matched against its first word
+        assertEquals(List.of(5L), index.fuzzySearch("acetaminofem", null));
+        assertEquals(List.of(2L), index.fuzzySearch("ibuprofeno 40mg", null));
+    }
+
+    @Test
+    void fuzzySearchFindsTwoTranspositions() {
+        index.put(6L, "abcdefghijkl", "Generico", 10L);
+
+        assertEquals(List.of(6L), index.fuzzySearch("abdcefhgijkl", null));
+    }
+
+    @Test
+    void fuzzySearchStopsAtTheDistanceBound() {
+        // Three edits away from "ibuprofeno"
+        assertTrue(index.fuzzySearch("ibuprofxxx", null).isEmpty());
+        // Terms up to four characters allow a single edit, against a single word here
+        assertEquals(List.of(4L), index.fuzzySearch("ttos", null));
+    }
+
+    @Test
+    void exactMatchRanksBeforeTypos() {
+        index.put(7L, "Paracetamo", "Genfar", 10L);
+
+        assertEquals(7L, index.fuzzySearch("paracetamo", null).get(0));
+    }
+
+    @Test
+    void shortTermFallsBackToExactSearch() {
+        assertEquals(index.search("mk", null), index.fuzzySearch("mk", null));
+    }
+
+    @Test
+    void updatedArticleIsFoundByItsNewName() {
+        index.put(1L, "Loratadina 10mg", "Genfar", 10L);
+
+        assertEquals(List.of(4L, 3L), index.fuzzySearch("paracetmol", null));
+        assertEquals(List.of(1L), index.fuzzySearch("loratadna", null));
+        assertEquals(5, index.size());
+    }
+}
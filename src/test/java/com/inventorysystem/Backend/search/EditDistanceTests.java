@@ -0,0 +1,25 @@
+package com.inventorysystem.Backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EditDistanceTests {
+
+    @Test
+    void countsEachKindOfEditOnce() {
+        assertEquals(0, EditDistance.bounded("paracetamol", "paracetamol", 2));
+        assertEquals(1, EditDistance.bounded("paracetamol", "paracetmol", 2));
+        assertEquals(1, EditDistance.bounded("paracetamol", "paracetamoll", 2));
+        assertEquals(1, EditDistance.bounded("paracetamol", "paracetamil", 2));
+        assertEquals(1, EditDistance.bounded("paracetamol", "paracetaoml", 2));
+        assertEquals(2, EditDistance.bounded("abcdefghijkl", "abdcefhgijkl", 2));
+    }
+
+    @Test
+    void distancesAboveTheBoundAreReportedAsBoundPlusOne() {
+        assertEquals(3, EditDistance.bounded("ibuprofeno", "ibuprofxxx", 2));
+        assertEquals(2, EditDistance.bounded("ibuprofeno", "acetaminofen", 1));
+        assertEquals(3, EditDistance.bounded("abc", "abcdefgh", 2));
+    }
+}
@@ -0,0 +1,131 @@
+package com.inventorysystem.Backend.service.imp;
+
+import com.inventorysystem.Backend.repository.ArticleRepository;
+import com.inventorysystem.Backend.repository.NotificationRepository;
+import com.inventorysystem.Backend.support.TestTransactions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleExpiryIndexTests {
+
+    private static final int DAYS_AHEAD = 7;
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationFeed notificationFeed;
+
+    @InjectMocks
+    private ArticleExpiryIndex expiryIndex;
+
+    private final List<Object[]> storedExpiryDates = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        TestTransactions.injectTemplate(expiryIndex);
+        ReflectionTestUtils.setField(expiryIndex, "daysAhead", DAYS_AHEAD);
+        ReflectionTestUtils.setField(expiryIndex, "retryDelayMillis", 50L);
+        when(articleRepository.findArticleExpiryDates()).thenReturn(storedExpiryDates);
+    }
+
+    @AfterEach
+    void tearDown() {
+        expiryIndex.stop();
+    }
+
+    @Test
+    void articlesAlreadyInsideTheHorizonAreNotifiedAtStartup() {
+        storedExpiryDates.add(new Object[]{1L, LocalDate.now().plusDays(3)});
+        storedExpiryDates.add(new Object[]{2L, LocalDate.now().plusDays(DAYS_AHEAD)});
+        storedExpiryDates.add(new Object[]{3L, LocalDate.now().plusDays(30)});
+        when(notificationRepository.insertExpiryNotifications(anyCollection(), any())).thenReturn(2);
+
+        expiryIndex.start();
+
+        verify(notificationRepository, timeout(5000)).insertExpiryNotifications(
+                argThat(ids -> Set.copyOf(ids).equals(Set.of(1L, 2L))), eq(LocalDate.now().plusDays(DAYS_AHEAD)));
+        verify(notificationFeed, timeout(5000)).publishCreated();
+    }
+
+    @Test
+    void articlesOutsideTheHorizonAreNotNotified() {
+        storedExpiryDates.add(new Object[]{3L, LocalDate.now().plusDays(DAYS_AHEAD + 1)});
+
+        expiryIndex.start();
+
+        verify(notificationRepository, after(300).never()).insertExpiryNotifications(anyCollection(), any());
+    }
+
+    @Test
+    void updatedExpiryDateIsNotifiedWhenItEntersTheHorizon() {
+        storedExpiryDates.add(new Object[]{3L, LocalDate.now().plusDays(30)});
+        expiryIndex.start();
+
+        expiryIndex.put(3L, LocalDate.now().plusDays(1));
+
+        verify(notificationRepository, timeout(5000)).insertExpiryNotifications(eq(List.of(3L)), any());
+    }
+
+    @Test
+    void clearedExpiryDateIsNotNotified() {
+        expiryIndex.start();
+
+        expiryIndex.put(4L, LocalDate.now().plusDays(40));
+        expiryIndex.put(4L, null);
+        expiryIndex.put(5L, LocalDate.now().plusDays(2));
+
+        verify(notificationRepository, timeout(5000)).insertExpiryNotifications(eq(List.of(5L)), any());
+        verify(notificationRepository, after(300).times(1)).insertExpiryNotifications(anyCollection(), any());
+    }
+
+    @Test
+    void failedSweepIsRetriedAfterTheDelay() {
+        storedExpiryDates.add(new Object[]{1L, LocalDate.now().plusDays(2)});
+        when(notificationRepository.insertExpiryNotifications(anyCollection(), any()))
+                .thenThrow(new IllegalStateException("Connection reset"))
+                .thenReturn(1);
+
+        expiryIndex.start();
+
+        verify(notificationRepository, timeout(5000).times(2)).insertExpiryNotifications(eq(List.of(1L)), any());
+        verify(notificationFeed, timeout(5000)).publishCreated();
+    }
+
+    @Test
+    void sweepWithNothingCreatedDoesNotPublish() {
+        storedExpiryDates.add(new Object[]{1L, LocalDate.now().plusDays(2)});
+        when(notificationRepository.insertExpiryNotifications(anyCollection(), any())).thenReturn(0);
+
+        expiryIndex.start();
+
+        verify(notificationRepository, timeout(5000)).insertExpiryNotifications(anyCollection(), any());
+        verify(notificationFeed, after(300).never()).publishCreated();
+    }
+}
@@ -0,0 +1,112 @@
+package com.inventorysystem.Backend.service.imp;
+
+import com.inventorysystem.Backend.repository.IdempotencyKeyRepository;
+import com.inventorysystem.Backend.service.IdempotencyService;
+import com.inventorysystem.Backend.support.TestTransactions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImpTests {
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @InjectMocks
+    private IdempotencyServiceImp idempotencyService;
+
+    private final AtomicInteger created = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        TestTransactions.injectTemplate(idempotencyService);
+        ReflectionTestUtils.setField(idempotencyService, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(idempotencyService, "cacheTtlMinutes", 60L);
+        idempotencyService.initCache();
+        // No key is stored unless a test says otherwise
+        lenient().when(idempotencyKeyRepository.findResourceId(anyString())).thenReturn(null);
+    }
+
+    @Test
+    void retryIsAnsweredFromMemoryAfterCommit() {
+        String first = execute(IdempotencyService.SCOPE_SALE, "key-1");
+        String retry = execute(IdempotencyService.SCOPE_SALE, "key-1");
+
+        assertEquals("sale-1", first);
+        assertEquals("sale-1", retry);
+        assertEquals(1, created.get());
+        verify(idempotencyKeyRepository).insertKey("sale:key-1", 1L);
+        verify(idempotencyKeyRepository, times(1)).findResourceId("sale:key-1");
+    }
+
+    @Test
+    void storedKeyIsReplayedWithoutCreating() {
+        when(idempotencyKeyRepository.findResourceId("sale:key-1")).thenReturn(42L);
+
+        assertEquals("replayed-42", execute(IdempotencyService.SCOPE_SALE, "key-1"));
+        assertEquals(0, created.get());
+        verify(idempotencyKeyRepository, never()).insertKey(anyString(), anyLong());
+    }
+
+    @Test
+    void concurrentRequestWithTheSameKeyGetsTheWinnersResult() {
+        when(idempotencyKeyRepository.findResourceId("sale:key-1")).thenReturn(null, 7L);
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .when(idempotencyKeyRepository).insertKey("sale:key-1", 1L);
+
+        assertEquals("replayed-7", execute(IdempotencyService.SCOPE_SALE, "key-1"));
+    }
+
+    @Test
+    void scopesDoNotShareKeys() {
+        execute(IdempotencyService.SCOPE_SALE, "key-1");
+        execute(IdempotencyService.SCOPE_PURCHASE, "key-1");
+
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    void failedRequestIsNotRemembered() {
+        Supplier<String> failing = () -> {
+            throw new IllegalArgumentException("Sale cannot be empty");
+        };
+        assertThrows(IllegalArgumentException.class, () -> idempotencyService.execute(
+                IdempotencyService.SCOPE_SALE, "key-1", failing, response -> 1L, id -> "replayed-" + id));
+
+        assertEquals("sale-1", execute(IdempotencyService.SCOPE_SALE, "key-1"));
+    }
+
+    @Test
+    void overlongKeyIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> execute(IdempotencyService.SCOPE_SALE, "k".repeat(65)));
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    private String execute(String scope, String key) {
+        Supplier<String> create = () -> scope + "-" + created.incrementAndGet();
+        Function<String, Long> resourceIdOf = response -> Long.valueOf(response.substring(response.indexOf('-') + 1));
+        return idempotencyService.execute(scope, key, create, resourceIdOf, id -> "replayed-" + id);
+    }
+}
@@ -0,0 +1,155 @@
+package com.inventorysystem.Backend.service.imp;
+
+import com.inventorysystem.Backend.dto.Notification.NotificationDTO;
+import com.inventorysystem.Backend.dto.Notification.NotificationEventDTO;
+import com.inventorysystem.Backend.model.Notification;
+import com.inventorysystem.Backend.repository.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationFeedTests {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private NotificationStream notificationStream;
+
+    @InjectMocks
+    private NotificationFeed notificationFeed;
+
+    @Test
+    void snapshotHoldsTheUnreadNotificationsAtStartup() {
+        when(notificationRepository.findByIsRead(false)).thenReturn(List.of(notification(1L, false), notification(2L, false)));
+
+        notificationFeed.load();
+
+        assertEquals(List.of(1L, 2L), unreadIds());
+    }
+
+    @Test
+    void lowerIdCommittedLateIsStillAnnounced() {
+        notificationFeed.load();
+        when(notificationRepository.findUnreadIds()).thenReturn(List.of(1000L), List.of(1000L, 999L));
+        when(notificationRepository.findAllById(List.of(1000L))).thenReturn(mutableList(notification(1000L, false)));
+        when(notificationRepository.findAllById(List.of(999L))).thenReturn(mutableList(notification(999L, false)));
+
+        notificationFeed.publishCreated();
+        notificationFeed.publishCreated();
+
+        assertEquals(List.of(1000L, 999L), announcedIds(NotificationEventDTO.Type.CREATED, 2));
+        assertEquals(List.of(1000L, 999L), unreadIds());
+    }
+
+    @Test
+    void heldNotificationsAreNotAnnouncedAgain() {
+        when(notificationRepository.findByIsRead(false)).thenReturn(List.of(notification(1L, false)));
+        notificationFeed.load();
+        when(notificationRepository.findUnreadIds()).thenReturn(List.of(1L));
+
+        notificationFeed.publishCreated();
+
+        verify(notificationRepository, times(0)).findAllById(anyList());
+        verify(notificationStream, times(0)).publish(any());
+    }
+
+    @Test
+    void notificationReadBetweenTheQueriesIsSkipped() {
+        notificationFeed.load();
+        when(notificationRepository.findUnreadIds()).thenReturn(List.of(3L, 4L));
+        when(notificationRepository.findAllById(List.of(3L, 4L)))
+                .thenReturn(mutableList(notification(4L, false), notification(3L, true)));
+
+        notificationFeed.publishCreated();
+
+        assertEquals(List.of(4L), announcedIds(NotificationEventDTO.Type.CREATED, 1));
+        assertEquals(List.of(4L), unreadIds());
+    }
+
+    @Test
+    void snapshotIsUpdatedBeforeTheEventGoesOut() {
+        notificationFeed.load();
+        when(notificationRepository.findUnreadIds()).thenReturn(List.of(5L));
+        when(notificationRepository.findAllById(List.of(5L))).thenReturn(mutableList(notification(5L, false)));
+        List<List<Long>> snapshotsAtPublish = new ArrayList<>();
+        doAnswer(invocation -> snapshotsAtPublish.add(unreadIds())).when(notificationStream).publish(any());
+
+        notificationFeed.publishCreated();
+
+        assertEquals(List.of(List.of(5L)), snapshotsAtPublish);
+    }
+
+    @Test
+    void readNotificationsLeaveTheSnapshot() {
+        when(notificationRepository.findByIsRead(false)).thenReturn(List.of(notification(1L, false), notification(2L, false)));
+        notificationFeed.load();
+
+        notificationFeed.publishRead(List.of(notification(1L, true), notification(9L, true)));
+
+        assertEquals(List.of(1L), announcedIds(NotificationEventDTO.Type.READ, 1));
+        assertEquals(List.of(2L), unreadIds());
+    }
+
+    @Test
+    void failedStompPushStillReachesTheStream() {
+        notificationFeed.load();
+        when(notificationRepository.findUnreadIds()).thenReturn(List.of(6L));
+        when(notificationRepository.findAllById(List.of(6L))).thenReturn(mutableList(notification(6L, false)));
+        doThrow(new MessagingException("Broker unavailable"))
+                .when(messagingTemplate).convertAndSend(eq(NotificationFeed.TOPIC), any(Object.class));
+
+        notificationFeed.publishCreated();
+
+        assertEquals(List.of(6L), announcedIds(NotificationEventDTO.Type.CREATED, 1));
+        assertTrue(unreadIds().contains(6L));
+    }
+
+    private List<Long> unreadIds() {
+        return notificationFeed.getUnread().stream().map(NotificationDTO::getId).toList();
+    }
+
+    private List<Long> announcedIds(NotificationEventDTO.Type type, int count) {
+        ArgumentCaptor<NotificationEventDTO> events = ArgumentCaptor.forClass(NotificationEventDTO.class);
+        verify(notificationStream, times(count)).publish(events.capture());
+        events.getAllValues().forEach(event -> assertEquals(type, event.getType()));
+        return events.getAllValues().stream().map(event -> event.getNotification().getId()).toList();
+    }
+
+    private static Notification notification(Long id, boolean read) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setMessage("Low stock for article " + id);
+        notification.setArticleId(id);
+        notification.setRead(read);
+        return notification;
+    }
+
+    // The feed sorts what findAllById returns
+    private static List<Notification> mutableList(Notification... notifications) {
+        return new ArrayList<>(List.of(notifications));
+    }
+}
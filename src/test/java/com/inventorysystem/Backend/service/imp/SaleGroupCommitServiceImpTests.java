@@ -0,0 +1,321 @@
+package com.inventorysystem.Backend.service.imp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventorysystem.Backend.dto.sale.SaleAcceptedDTO;
+import com.inventorysystem.Backend.dto.sale.SaleCreationArticleDTO;
+import com.inventorysystem.Backend.dto.sale.SaleCreationDTO;
+import com.inventorysystem.Backend.dto.sale.SaleBatchResultDTO;
+import com.inventorysystem.Backend.dto.sale.SaleWalRecordDTO;
+import com.inventorysystem.Backend.exception.SaleQueueUnavailableException;
+import com.inventorysystem.Backend.model.QueuedSaleOutcome;
+import com.inventorysystem.Backend.repository.ArticleRepository;
+import com.inventorysystem.Backend.repository.QueuedSaleOutcomeRepository;
+import com.inventorysystem.Backend.service.SaleService;
+import com.inventorysystem.Backend.support.TestTransactions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SaleGroupCommitServiceImpTests {
+
+    private static final String EPOCH = "0a1b2c3d";
+
+    @Mock
+    private SaleService saleService;
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private QueuedSaleOutcomeRepository outcomeRepository;
+
+    @InjectMocks
+    private SaleGroupCommitServiceImp groupCommitService;
+
+    @TempDir
+    Path walDirectory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private boolean started;
+
+    @BeforeEach
+    void setUp() {
+        TestTransactions.injectTemplate(groupCommitService);
+        ReflectionTestUtils.setField(groupCommitService, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(groupCommitService, "walDirectory", walDirectory.toString());
+        ReflectionTestUtils.setField(groupCommitService, "maxGroupSize", 256);
+        ReflectionTestUtils.setField(groupCommitService, "ackTimeoutMillis", 5000L);
+        // Every sale of a group is created, with sale ids 100, 101, ...
+        lenient().when(saleService.createSales(anyList())).thenAnswer(invocation -> {
+            List<SaleCreationDTO> sales = invocation.getArgument(0);
+            List<SaleBatchResultDTO> results = new ArrayList<>();
+            for (int i = 0; i < sales.size(); i++) {
+                results.add(SaleBatchResultDTO.created(i + 1, 100L + i));
+            }
+            return results;
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (started) {
+            groupCommitService.stop();
+        }
+    }
+
+    @Test
+    void recoveryReplaysOnlySalesAfterTheCheckpoint() throws Exception {
+        writeCheckpoint(1);
+        writeWal(walLine(1, 11L), walLine(2, 12L), walLine(3, 13L), "{\"sequence\":4,\"sa");
+
+        start();
+
+        assertEquals(List.of(12L, 13L), appliedArticleIds());
+        verify(outcomeRepository, timeout(5000)).insertOutcomes(anyList());
+        awaitCheckpoint(3);
+    }
+
+    @Test
+    void recoverySkipsSalesThatAlreadyHaveAnOutcome() throws Exception {
+        writeCheckpoint(1);
+        writeWal(walLine(2, 12L), walLine(3, 13L));
+        // Sale 2 was committed just before the crash, the checkpoint was not
+        when(outcomeRepository.findRecordedKeys(anyList())).thenReturn(List.of(EPOCH + "-2"));
+
+        start();
+
+        assertEquals(List.of(13L), appliedArticleIds());
+        awaitCheckpoint(3);
+    }
+
+    @Test
+    void sequencesContinueAfterTheRecoveredLog() throws Exception {
+        writeCheckpoint(3);
+        writeWal(walLine(2, 12L), walLine(3, 13L));
+        when(articleRepository.existsByArticleIdIn(any())).thenReturn(true);
+
+        start();
+        SaleAcceptedDTO accepted = groupCommitService.enqueueSale(sale(14L));
+
+        assertEquals(4L, accepted.getSequence());
+        assertEquals(List.of(14L), appliedArticleIds());
+        awaitCheckpoint(4);
+        // The drained log is truncated right after the checkpoint
+        Path wal = walDirectory.resolve("sales.wal");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (Files.size(wal) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, Files.size(wal));
+    }
+
+    @Test
+    void concurrentSalesGetConsecutiveSequences() throws Exception {
+        writeCheckpoint(0);
+        when(articleRepository.existsByArticleIdIn(any())).thenReturn(true);
+        start();
+
+        ExecutorService requests = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<SaleAcceptedDTO>> accepted = new ArrayList<>();
+            for (long articleId = 1; articleId <= 8; articleId++) {
+                SaleCreationDTO sale = sale(articleId);
+                accepted.add(requests.submit(() -> groupCommitService.enqueueSale(sale)));
+            }
+            Set<Long> sequences = new HashSet<>();
+            for (Future<SaleAcceptedDTO> acceptance : accepted) {
+                sequences.add(acceptance.get(5, TimeUnit.SECONDS).getSequence());
+            }
+            assertEquals(Set.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), sequences);
+        } finally {
+            requests.shutdownNow();
+        }
+        awaitCheckpoint(8);
+    }
+
+    @Test
+    void rejectedSaleIsRecordedWithItsReason() throws Exception {
+        writeCheckpoint(0);
+        writeWal(walLine(1, 11L));
+        when(saleService.createSales(anyList())).thenReturn(List.of(
+                SaleBatchResultDTO.failed(1, "Insufficient stock for article 11 (requested 1)")));
+
+        start();
+
+        ArgumentCaptor<List<QueuedSaleOutcome>> outcomes = outcomesCaptor();
+        verify(outcomeRepository, timeout(5000)).insertOutcomes(outcomes.capture());
+        QueuedSaleOutcome outcome = outcomes.getValue().get(0);
+        assertEquals(EPOCH + "-1", outcome.getOutcomeKey());
+        assertEquals(QueuedSaleOutcome.REJECTED, outcome.getStatus());
+        assertEquals("Insufficient stock for article 11 (requested 1)", outcome.getReason());
+    }
+
+    @Test
+    void queuedSaleIsReadFromItsOutcome() throws Exception {
+        writeCheckpoint(2);
+        writeWal(walLine(1, 11L), walLine(2, 12L));
+        when(outcomeRepository.findById(EPOCH + "-2")).thenReturn(Optional.of(
+                new QueuedSaleOutcome(EPOCH + "-2", QueuedSaleOutcome.APPLIED, 100L, null, null)));
+
+        start();
+
+        SaleAcceptedDTO queuedSale = groupCommitService.getQueuedSale(2L);
+        assertEquals(QueuedSaleOutcome.APPLIED, queuedSale.getStatus());
+        assertEquals(100L, queuedSale.getSaleId());
+        assertThrows(IllegalArgumentException.class, () -> groupCommitService.getQueuedSale(1L));
+        assertThrows(IllegalArgumentException.class, () -> groupCommitService.getQueuedSale(3L));
+    }
+
+    @Test
+    void saleWithoutQuantityIsRejectedBeforeTheLog() throws Exception {
+        writeCheckpoint(0);
+        start();
+
+        SaleCreationDTO sale = new SaleCreationDTO(1L, List.of(new SaleCreationArticleDTO(11L, 0)), 1L);
+
+        assertThrows(IllegalArgumentException.class, () -> groupCommitService.enqueueSale(sale));
+        assertEquals(0, Files.size(walDirectory.resolve("sales.wal")));
+        verify(articleRepository, never()).existsByArticleIdIn(any());
+    }
+
+    @Test
+    void lineWithoutQuantityIsSkippedLikeCreateSaleDoes() throws Exception {
+        writeCheckpoint(0);
+        when(articleRepository.existsByArticleIdIn(Set.of(12L))).thenReturn(true);
+        start();
+
+        SaleCreationDTO sale = new SaleCreationDTO(1L,
+                List.of(new SaleCreationArticleDTO(11L, 0), new SaleCreationArticleDTO(12L, 1)), 1L);
+
+        assertEquals(1L, groupCommitService.enqueueSale(sale).getSequence());
+    }
+
+    @Test
+    void saleNotLoggedInTimeIsRefusedAndNeverWritten() throws Exception {
+        writeCheckpoint(0);
+        when(articleRepository.existsByArticleIdIn(any())).thenReturn(true);
+        // Accepting requests, but no flusher yet
+        ReflectionTestUtils.setField(groupCommitService, "ackTimeoutMillis", 50L);
+        ReflectionTestUtils.setField(groupCommitService, "running", true);
+
+        assertThrows(SaleQueueUnavailableException.class, () -> groupCommitService.enqueueSale(sale(11L)));
+
+        ReflectionTestUtils.setField(groupCommitService, "ackTimeoutMillis", 5000L);
+        start();
+        // The refused sale is dropped by the flusher, so the next one gets the first sequence
+        assertEquals(1L, groupCommitService.enqueueSale(sale(12L)).getSequence());
+        assertEquals(List.of(12L), appliedArticleIds());
+    }
+
+    @Test
+    void shutdownRefusesSalesTheFlusherDidNotWrite() throws Exception {
+        when(articleRepository.existsByArticleIdIn(any())).thenReturn(true);
+        // Accepting requests, with a flusher and an applier that have already exited
+        Thread exited = new Thread(() -> {
+        });
+        exited.start();
+        exited.join();
+        ReflectionTestUtils.setField(groupCommitService, "flusher", exited);
+        ReflectionTestUtils.setField(groupCommitService, "applier", exited);
+        ReflectionTestUtils.setField(groupCommitService, "walChannel",
+                FileChannel.open(walDirectory.resolve("sales.wal"), StandardOpenOption.CREATE, StandardOpenOption.WRITE));
+        ReflectionTestUtils.setField(groupCommitService, "running", true);
+
+        ExecutorService requests = Executors.newSingleThreadExecutor();
+        try {
+            Future<SaleAcceptedDTO> accepted = requests.submit(() -> groupCommitService.enqueueSale(sale(11L)));
+            BlockingQueue<?> appends = (BlockingQueue<?>) ReflectionTestUtils.getField(groupCommitService, "appends");
+            while (appends.isEmpty()) {
+                Thread.sleep(10);
+            }
+
+            groupCommitService.stop();
+
+            ExecutionException refused = assertThrows(ExecutionException.class, () -> accepted.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(SaleQueueUnavailableException.class, refused.getCause());
+        } finally {
+            requests.shutdownNow();
+        }
+    }
+
+    private void start() throws Exception {
+        groupCommitService.start();
+        started = true;
+    }
+
+    private List<Long> appliedArticleIds() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SaleCreationDTO>> sales = ArgumentCaptor.forClass(List.class);
+        verify(saleService, timeout(5000)).createSales(sales.capture());
+        return sales.getValue().stream().map(sale -> sale.getArticles().get(0).getArticleId()).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<QueuedSaleOutcome>> outcomesCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private void awaitCheckpoint(long sequence) throws Exception {
+        Path checkpoint = walDirectory.resolve("applied.checkpoint");
+        String expected = EPOCH + " " + sequence;
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!expected.equals(Files.readString(checkpoint, StandardCharsets.UTF_8))) {
+            if (System.currentTimeMillis() > deadline) {
+                assertEquals(expected, Files.readString(checkpoint, StandardCharsets.UTF_8));
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private void writeCheckpoint(long sequence) throws Exception {
+        Files.writeString(walDirectory.resolve("applied.checkpoint"), EPOCH + " " + sequence, StandardCharsets.UTF_8);
+    }
+
+    private void writeWal(String... lines) throws Exception {
+        Files.writeString(walDirectory.resolve("sales.wal"), String.join("\n", lines) + "\n", StandardCharsets.UTF_8);
+    }
+
+    private String walLine(long sequence, Long articleId) throws Exception {
+        return objectMapper.writeValueAsString(new SaleWalRecordDTO(sequence, sale(articleId)));
+    }
+
+    private static SaleCreationDTO sale(Long articleId) {
+        return new SaleCreationDTO(1L, List.of(new SaleCreationArticleDTO(articleId, 1)), 1L);
+    }
+}
@@ -0,0 +1,179 @@
+package com.inventorysystem.Backend.service.imp;
+
+import com.inventorysystem.Backend.cache.ArticleCache;
+import com.inventorysystem.Backend.dto.sale.SaleCreationArticleDTO;
+import com.inventorysystem.Backend.dto.sale.SaleCreationDTO;
+import com.inventorysystem.Backend.dto.sale.SaleDetailDTO;
+import com.inventorysystem.Backend.dto.sale.SalesPageDTO;
+import com.inventorysystem.Backend.dto.sale.StockShortageDTO;
+import com.inventorysystem.Backend.event.StockChangedEvent;
+import com.inventorysystem.Backend.exception.InsufficientStockException;
+import com.inventorysystem.Backend.mapper.SaleMapper;
+import com.inventorysystem.Backend.model.Article;
+import com.inventorysystem.Backend.model.Sale;
+import com.inventorysystem.Backend.repository.ArticleRepository;
+import com.inventorysystem.Backend.repository.SaleDetailRepository;
+import com.inventorysystem.Backend.repository.SaleRepository;
+import com.inventorysystem.Backend.search.SaleSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SaleServiceImpTests {
+
+    @Mock
+    private SaleRepository saleRepository;
+
+    @Mock
+    private SaleDetailRepository saleDetailRepository;
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private ArticleCache articleCache;
+
+    @Mock
+    private SaleMapper saleMapper;
+
+    @Mock
+    private SaleSearchIndex saleSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SaleServiceImp saleService;
+
+    @Test
+    void createSaleDecrementsStockInArticleIdOrder() {
+        when(articleRepository.findAllById(any())).thenReturn(List.of(article(5L, 10), article(3L, 20)));
+        when(articleRepository.decrementStock(anyLong(), anyInt())).thenReturn(1);
+        Sale savedSale = new Sale();
+        savedSale.setSaleId(42L);
+        when(saleRepository.save(any(Sale.class))).thenReturn(savedSale);
+        SaleDetailDTO createdSale = new SaleDetailDTO();
+        createdSale.setSaleArticles(new ArrayList<>());
+        when(saleMapper.saleDetailToDTO(any(Sale.class), anyList(), any())).thenReturn(createdSale);
+
+        saleService.createSale(sale(line(5L, 1), line(3L, 2)));
+
+        InOrder decrements = inOrder(articleRepository);
+        decrements.verify(articleRepository).decrementStock(3L, 2);
+        decrements.verify(articleRepository).decrementStock(5L, 1);
+        verify(saleDetailRepository).createSaleDetails(anyList());
+        verify(eventPublisher).publishEvent(any(StockChangedEvent.class));
+    }
+
+    @Test
+    void shortageReportsTheRequestLineAndSavesNothing() {
+        when(articleRepository.findAllById(any())).thenReturn(List.of(article(5L, 10), article(3L, 20)));
+        when(articleRepository.decrementStock(3L, 2)).thenReturn(0);
+
+        // Line 2 is skipped as invalid, so the short article is still reported as line 3
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class,
+                () -> saleService.createSale(sale(line(5L, 1), line(99L, 1), line(3L, 2))));
+
+        StockShortageDTO shortage = exception.getShortage();
+        assertEquals(3, shortage.getLine());
+        assertEquals(3L, shortage.getArticleId());
+        assertEquals(2, shortage.getRequestedQuantity());
+        verify(articleRepository, never()).decrementStock(5L, 1);
+        verify(saleRepository, never()).save(any(Sale.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void shortageOnARepeatedLineReportsTheLaterLine() {
+        when(articleRepository.findAllById(any())).thenReturn(List.of(article(7L, 10)));
+        when(articleRepository.decrementStock(7L, 1)).thenReturn(1, 0);
+
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class,
+                () -> saleService.createSale(sale(line(7L, 1), line(7L, 1))));
+
+        assertEquals(2, exception.getShortage().getLine());
+    }
+
+    @Test
+    void saleWithoutValidArticlesIsRejected() {
+        when(articleRepository.findAllById(any())).thenReturn(List.of(article(5L, 10)));
+
+        assertThrows(IllegalArgumentException.class, () -> saleService.createSale(sale(line(5L, 0), line(99L, 1))));
+        verify(articleRepository, never()).decrementStock(anyLong(), anyInt());
+    }
+
+    @Test
+    void tooBroadTermSearchesBySaleIdOnly() {
+        ReflectionTestUtils.setField(saleService, "maxMatchedParties", 2);
+        when(saleSearchIndex.findCustomerIds("an")).thenReturn(Set.of(1L, 2L, 3L));
+        when(saleSearchIndex.findUserIds("an")).thenReturn(Set.of(4L));
+
+        saleService.getAllSales("an", 1, 10, false);
+
+        verify(saleRepository).searchSaleIds(eq(-1L), eq(Set.of(-1L)), eq(Set.of(4L)), eq(Long.MAX_VALUE), eq(10));
+    }
+
+    @Test
+    void offsetSearchPageIsCutFromTheMergedIdsWithoutCounting() {
+        ReflectionTestUtils.setField(saleService, "maxMatchedParties", 10);
+        when(saleSearchIndex.findCustomerIds("ana")).thenReturn(Set.of(1L));
+        when(saleSearchIndex.findUserIds("ana")).thenReturn(Set.of());
+        when(saleRepository.searchSaleIds(-1L, Set.of(1L), Set.of(-1L), Long.MAX_VALUE, 4)).thenReturn(List.of(9L, 7L, 5L, 2L));
+        when(saleRepository.findAllById(List.of(5L, 2L))).thenReturn(List.of(saleWithId(2L), saleWithId(5L)));
+
+        SalesPageDTO salesPage = saleService.getAllSales("ana", 2, 2, false);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Sale>> mappedSales = ArgumentCaptor.forClass(List.class);
+        verify(saleMapper).salesToDTO(mappedSales.capture());
+        assertEquals(List.of(5L, 2L), mappedSales.getValue().stream().map(Sale::getSaleId).toList());
+        assertNull(salesPage.getTotalRecords());
+        verify(saleRepository, never()).countSales(any(), any(), any());
+    }
+
+    private static Sale saleWithId(Long saleId) {
+        Sale sale = new Sale();
+        sale.setSaleId(saleId);
+        return sale;
+    }
+
+    private static Article article(Long articleId, int salePrice) {
+        Article article = new Article();
+        article.setArticleId(articleId);
+        article.setSalePrice(salePrice);
+        article.setStock(100);
+        return article;
+    }
+
+    private static SaleCreationArticleDTO line(Long articleId, int quantity) {
+        return new SaleCreationArticleDTO(articleId, quantity);
+    }
+
+    private static SaleCreationDTO sale(SaleCreationArticleDTO... lines) {
+        return new SaleCreationDTO(1L, List.of(lines), 1L);
+    }
+}
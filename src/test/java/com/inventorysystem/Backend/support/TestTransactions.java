@@ -0,0 +1,44 @@
+package com.inventorysystem.Backend.support;
+
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Transactions for unit tests that run service code outside a Spring context.
+ */
+public final class TestTransactions {
+
+    private TestTransactions() {
+    }
+
+    /**
+     * Sets the {@code transactionTemplate} field of {@code target} to a template whose transactions do nothing
+     * but keep transaction synchronization active, so afterCommit hooks fire when the callback returns.
+     */
+    public static void injectTemplate(Object target) {
+        ReflectionTestUtils.setField(target, "transactionTemplate", new TransactionTemplate(new NoOpTransactionManager()));
+    }
+
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
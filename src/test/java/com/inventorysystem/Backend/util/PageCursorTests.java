@@ -0,0 +1,38 @@
+package com.inventorysystem.Backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTests {
+
+    @Test
+    void cursorRoundTrips() {
+        for (long id : new long[]{0L, 1L, 20_000L, Long.MAX_VALUE}) {
+            assertEquals(id, PageCursor.decode(PageCursor.encode(id)));
+        }
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = PageCursor.encode(Long.MAX_VALUE);
+
+        assertFalse(cursor.contains("="));
+        assertFalse(cursor.contains("+"));
+        assertFalse(cursor.contains("/"));
+    }
+
+    @Test
+    void noLastRowGivesNoCursor() {
+        assertNull(PageCursor.encode(null));
+    }
+
+    @Test
+    void tamperedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("YWJj"));
+    }
+}